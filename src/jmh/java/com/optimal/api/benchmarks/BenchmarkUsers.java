@@ -0,0 +1,50 @@
+package com.optimal.api.benchmarks;
+
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic user fixtures shaped like the random user API output:
+ * a few dozen countries, each with a handful of states and cities.
+ */
+final class BenchmarkUsers {
+
+    private static final int COUNTRIES = 21;
+    private static final int STATES_PER_COUNTRY = 12;
+    private static final int CITIES_PER_STATE = 40;
+
+    private BenchmarkUsers() {
+    }
+
+    static List<UserDTO> dtos(int count) {
+        List<UserDTO> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(dto(i));
+        }
+        return users;
+    }
+
+    static UserDTO dto(int i) {
+        int country = i % COUNTRIES;
+        int state = (i / COUNTRIES) % STATES_PER_COUNTRY;
+        int city = (i / (COUNTRIES * STATES_PER_COUNTRY)) % CITIES_PER_STATE;
+        return UserDTO.builder()
+                .id((long) i + 1)
+                .username("user_" + i)
+                .name("First" + i + " Last" + i)
+                .email("user" + i + "@example.com")
+                .gender(i % 2 == 0 ? "Male" : "Female")
+                .picture("https://randomuser.me/api/portraits/men/" + (i % 100) + ".jpg")
+                .country("Country " + country)
+                .state("State " + country + "-" + state)
+                .city("City " + country + "-" + state + "-" + city)
+                .build();
+    }
+
+    static UserBO bo(int i) {
+        return dto(i).toBO();
+    }
+}
@@ -0,0 +1,90 @@
+package com.optimal.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimal.api.services.external.RandomUserResultsDecoder;
+import com.optimal.api.services.external.model.RandomUserResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Decoding a random user API response of {@code users} results, delivered in 8 KiB buffers like a network read:
+ * joining the body and binding it at once, as {@code bodyToMono} does, against {@link RandomUserResultsDecoder}.
+ * Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomUserDecodeBenchmark {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Param({"500", "5000"})
+    public int users;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RandomUserResultsDecoder decoder = new RandomUserResultsDecoder(objectMapper);
+    private byte[] body;
+
+    /** A response shaped like the real API's, with the fields the client ignores. */
+    @Setup
+    public void setUp() {
+        body = IntStream.range(0, users)
+                .mapToObj(i -> """
+                        {"gender":"female","name":{"title":"Ms","first":"First%1$d","last":"Last"},
+                         "location":{"street":{"number":%1$d,"name":"Rue de la Paix"},"city":"Paris","state":"Paris",
+                          "country":"France","postcode":75002,"coordinates":{"latitude":"48.8","longitude":"2.3"},
+                          "timezone":{"offset":"+1:00","description":"Brussels, Copenhagen, Madrid, Paris"}},
+                         "email":"user%1$d@example.com",
+                         "login":{"uuid":"7a0eed16-9430-4d68-901f-c0d4c1c3bf00","username":"user_%1$d",
+                          "password":"yellow","salt":"6O8gFwQH","md5":"d0a7fd1b9d49b4f9ec0d4b2e1f6f4b2a",
+                          "sha1":"c5ac6ee1ab3e3c8c5b6b04d3e4b6b3c1f5b9e6d2","sha256":"2c4a3d5e6f7a8b9c0d1e2f3a4b5c6d7e8f9a0b1c2d3e4f5a6b7c8d9e0f1a2b3c"},
+                         "dob":{"date":"1975-01-25T06:05:52.519Z","age":49},"registered":{"date":"2010-06-10T09:38:01.478Z","age":14},
+                         "phone":"01-23-45-67-89","cell":"06-12-34-56-78","id":{"name":"INSEE","value":"2750123456789 12"},
+                         "picture":{"large":"https://randomuser.me/api/portraits/women/%2$d.jpg",
+                          "medium":"https://randomuser.me/api/portraits/med/women/%2$d.jpg",
+                          "thumbnail":"https://randomuser.me/api/portraits/thumb/women/%2$d.jpg"},"nat":"FR"}
+                        """.formatted(i, i % 100))
+                .collect(Collectors.joining(",", "{\"results\":[",
+                        "],\"info\":{\"seed\":\"abc\",\"results\":" + users + ",\"page\":1,\"version\":\"1.4\"}}"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Flux<DataBuffer> buffers() {
+        List<DataBuffer> buffers = new ArrayList<>(body.length / BUFFER_SIZE + 1);
+        for (int offset = 0; offset < body.length; offset += BUFFER_SIZE) {
+            DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(BUFFER_SIZE);
+            buffer.write(body, offset, Math.min(BUFFER_SIZE, body.length - offset));
+            buffers.add(buffer);
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    @Benchmark
+    public List<RandomUserResponse.Result> wholeBody() throws IOException {
+        DataBuffer joined = DataBufferUtils.join(buffers()).block();
+        try {
+            return objectMapper.readValue(joined.asInputStream(), RandomUserResponse.class).getResults();
+        } finally {
+            DataBufferUtils.release(joined);
+        }
+    }
+
+    @Benchmark
+    public List<RandomUserResponse.Result> streamed() {
+        return decoder.decode(buffers()).collectList().block();
+    }
+}
@@ -0,0 +1,40 @@
+package com.optimal.api.benchmarks;
+
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.external.SyntheticUserGeneratorImpl;
+import com.optimal.api.settings.RandomUserProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link SyntheticUserGeneratorImpl}: {@code users} users per operation, so users per second
+ * is the score times {@code users}. {@code getRandomUsers} goes parallel from 10 000 users and uses every
+ * core of the common pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SyntheticUserGeneratorBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int users;
+
+    private SyntheticUserGeneratorImpl generator;
+
+    @Setup
+    public void setUp() {
+        RandomUserProperties properties = new RandomUserProperties();
+        properties.setSource("synthetic");
+        generator = new SyntheticUserGeneratorImpl(properties);
+    }
+
+    @Benchmark
+    public List<UserDTO> getRandomUsers() {
+        return generator.getRandomUsers(users);
+    }
+}
@@ -0,0 +1,74 @@
+package com.optimal.api.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.index.UserTreeIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the JSON bodies of {@code GET /api/users/} and {@code GET /api/users/tree/},
+ * with an {@link ObjectMapper} configured the way Spring MVC configures its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserJsonBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"20", "1000"})
+        public int pageSize;
+
+        ObjectMapper objectMapper;
+        Page<UserBO> page;
+
+        @Setup
+        public void setUp() {
+            objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            List<UserBO> content = BenchmarkUsers.dtos(pageSize).stream().map(UserDTO::toBO).toList();
+            page = new PageImpl<>(content, PageRequest.of(0, pageSize), 100_000);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class TreeState {
+
+        @Param({"10000", "100000"})
+        public int users;
+
+        ObjectMapper objectMapper;
+        Map<String, Map<String, Map<String, List<UserBO>>>> tree;
+
+        @Setup
+        public void setUp() {
+            objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            UserTreeIndex index = new UserTreeIndex();
+            index.addOrReplace(BenchmarkUsers.dtos(users));
+            tree = index.getTree();
+        }
+    }
+
+    @Benchmark
+    public byte[] page(PageState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(state.page);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] tree(TreeState state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(state.tree);
+    }
+}
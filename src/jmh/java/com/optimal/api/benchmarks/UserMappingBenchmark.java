@@ -0,0 +1,38 @@
+package com.optimal.api.benchmarks;
+
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting one user between its persistence and API representations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    private UserDTO dto;
+    private UserBO bo;
+
+    @Setup
+    public void setUp() {
+        dto = BenchmarkUsers.dto(42);
+        bo = BenchmarkUsers.bo(42);
+    }
+
+    @Benchmark
+    public UserBO dtoToBO() {
+        return dto.toBO();
+    }
+
+    @Benchmark
+    public UserDTO boToRO() {
+        return bo.toRO();
+    }
+}
@@ -0,0 +1,90 @@
+package com.optimal.api.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.optimal.api.facades.UserJsonWriter;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Allocation of the user read path, per request of {@code users} users: mapping a page of entities to BOs
+ * through a stream against a presized list, and writing the export stream through
+ * a {@code UserBO} per row and Jackson's bean serializer against {@link UserJsonWriter}.
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserReadPathBenchmark {
+
+    /** Discards the output and, unlike {@link OutputStream#nullOutputStream()}, can be closed and reused. */
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Param({"1000", "100000"})
+    public int users;
+
+    private ObjectMapper objectMapper;
+    private List<UserDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        dtos = BenchmarkUsers.dtos(users);
+    }
+
+    /** The mapping as it was: collected from a stream. */
+    @Benchmark
+    public List<UserBO> mapWithStream() {
+        return dtos.stream().map(UserDTO::toBO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserBO> mapIntoPresizedList() {
+        List<UserBO> bos = new ArrayList<>(dtos.size());
+        dtos.forEach(dto -> bos.add(dto.toBO()));
+        return bos;
+    }
+
+    /** The export as it was: a {@code UserBO} per row, written by a {@link SequenceWriter}. */
+    @Benchmark
+    public void exportThroughBOs() throws IOException {
+        try (SequenceWriter sequenceWriter = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(DISCARD)) {
+            for (UserDTO dto : dtos) {
+                sequenceWriter.write(dto.toBO());
+            }
+        }
+    }
+
+    @Benchmark
+    public void exportDirect() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(DISCARD)) {
+            generator.setRootValueSeparator(UserJsonWriter.LINE_SEPARATOR);
+            for (UserDTO dto : dtos) {
+                UserJsonWriter.write(generator, dto);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.optimal.api.benchmarks;
+
+import com.optimal.api.models.bo.UserSuggestionBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.index.UserSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a top-10 autocomplete served by {@link UserSearchIndex}, against a scan of every user
+ * that checks each field with {@code contains}, which is what {@code LIKE '%q%'} does in the database.
+ * <p>
+ * {@code prefix} matches a name word and stops after ten hits; {@code substring} starts no term and
+ * goes through the trigram intersection; {@code miss} matches nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserSearchIndexBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    public int users;
+
+    @Param({"prefix", "substring", "miss"})
+    public String kind;
+
+    private List<UserDTO> dtos;
+    private UserSearchIndex index;
+    private String query;
+
+    @Setup
+    public void setUp() {
+        dtos = BenchmarkUsers.dtos(users);
+        index = new UserSearchIndex();
+        index.addOrReplace(dtos);
+        query = switch (kind) {
+            case "prefix" -> "first4";
+            case "substring" -> "st4242 l";
+            default -> "nobody";
+        };
+    }
+
+    @Benchmark
+    public List<UserSuggestionBO> index() {
+        return index.suggest(query, LIMIT);
+    }
+
+    @Benchmark
+    public List<UserSuggestionBO> scan() {
+        List<UserSuggestionBO> matches = new ArrayList<>(LIMIT);
+        for (UserDTO user : dtos) {
+            if (contains(user.getUsername()) || contains(user.getName()) || contains(user.getEmail())) {
+                matches.add(new UserSuggestionBO(user.getUsername(), user.getName(), user.getEmail()));
+                if (matches.size() == LIMIT) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private boolean contains(String value) {
+        return value.toLowerCase(Locale.ROOT).contains(query);
+    }
+}
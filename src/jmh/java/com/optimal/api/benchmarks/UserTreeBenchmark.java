@@ -0,0 +1,53 @@
+package com.optimal.api.benchmarks;
+
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.index.UserTreeIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of grouping users into the country → state → city tree served by {@code UserFacade.getUserTree()}.
+ * <p>
+ * {@code build} groups all users at once, as the index does on startup; {@code addOne} is the
+ * incremental update done for every saved user once the index holds {@code users} entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserTreeBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int users;
+
+    private List<UserDTO> dtos;
+    private UserTreeIndex populatedIndex;
+    private int nextUser;
+
+    @Setup
+    public void setUp() {
+        dtos = BenchmarkUsers.dtos(users);
+        populatedIndex = new UserTreeIndex();
+        populatedIndex.addOrReplace(dtos);
+        nextUser = users;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public UserTreeIndex build() {
+        UserTreeIndex index = new UserTreeIndex();
+        index.addOrReplace(dtos);
+        return index;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public UserTreeIndex addOne() {
+        // Replace users round-robin so the index keeps its size across invocations.
+        populatedIndex.addOrReplace(List.of(BenchmarkUsers.dto(nextUser++ % users)));
+        return populatedIndex;
+    }
+}
@@ -0,0 +1,55 @@
+package com.optimal.api.benchmarks;
+
+import com.optimal.api.models.bo.UserBO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Bean Validation run on every {@code POST}/{@code PUT} request body.
+ * An invalid user is measured separately because building violation messages dominates that case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private UserBO validUser;
+    private UserBO invalidUser;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validUser = BenchmarkUsers.bo(42);
+        invalidUser = BenchmarkUsers.bo(43);
+        invalidUser.setEmail("not-an-email");
+        invalidUser.setGender("unknown");
+        invalidUser.setPicture("picture.jpg");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserBO>> valid() {
+        return validator.validate(validUser);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserBO>> invalid() {
+        return validator.validate(invalidUser);
+    }
+}
@@ -0,0 +1,115 @@
+package com.optimal.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and error counts of one load-test phase, per operation.
+ * Latencies are recorded in microseconds from the intended send time, so time spent
+ * queued behind a slow server counts against it (no coordinated omission).
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private long elapsedNanos;
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean failed) {
+        recorders.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (failed) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    /**
+     * Freezes the recorded values; later calls to {@link #record} are ignored by the report.
+     */
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-12s %8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "rps", "err%", "p50 ms", "p99 ms", "p999 ms", "max ms", "mean ms");
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() > 0) {
+                printRow(out, operation.name(), histogram, errors.get(operation).get());
+                total.add(histogram);
+                totalErrors += errors.get(operation).get();
+            }
+        }
+        printRow(out, "ALL", total, totalErrors);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errorCount) {
+        long count = histogram.getTotalCount();
+        out.printf("%-12s %8d %8.1f %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, count, count * 1e9 / elapsedNanos, count == 0 ? 0 : errorCount * 100.0 / count,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                histogram.getMean() / 1000);
+    }
+
+    /**
+     * Writes {@code report.json} with the summary and one {@code <operation>.hgrm} percentile
+     * distribution per operation, which can be plotted with HdrHistogram's plotter.
+     */
+    void write(Path directory, Map<String, Object> settings) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getTotalCount());
+            summary.put("errors", errors.get(operation).get());
+            summary.put("p50Millis", millis(histogram.getValueAtPercentile(50)));
+            summary.put("p99Millis", millis(histogram.getValueAtPercentile(99)));
+            summary.put("p999Millis", millis(histogram.getValueAtPercentile(99.9)));
+            summary.put("maxMillis", millis(histogram.getMaxValue()));
+            operations.put(operation.name(), summary);
+
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(directory.resolve(operation.name() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("elapsedSeconds", elapsedNanos / 1e9);
+        report.put("operations", operations);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("report.json").toFile(), report);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
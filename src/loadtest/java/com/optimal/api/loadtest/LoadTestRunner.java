@@ -0,0 +1,232 @@
+package com.optimal.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimal.api.ApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end HTTP load test of the {@code /api/users} endpoints.
+ * <p>
+ * Boots the application on a random port against its in-memory H2 database, with the random
+ * user API replaced by an {@link UpstreamStub}. After seeding users it sends requests at a fixed
+ * arrival rate (open model: requests are sent on schedule whether or not earlier ones have
+ * completed) drawn from a read/write/generate/tree mix, first for a warm-up phase whose results
+ * are discarded, then for the measured phase.
+ * <p>
+ * Settings are system properties, all optional:
+ * <ul>
+ *   <li>{@code loadtest.rate} – requests per second (default 50)</li>
+ *   <li>{@code loadtest.duration} / {@code loadtest.warmup} – seconds (default 60 / 15)</li>
+ *   <li>{@code loadtest.mix} – category weights (default {@code read:70,write:15,generate:5,tree:10})</li>
+ *   <li>{@code loadtest.seed-users} – users generated before the run (default 2000)</li>
+ *   <li>{@code loadtest.generate-size} – users per generate request (default 10)</li>
+ *   <li>{@code loadtest.stub.latency} – upstream latency in ms (default 100)</li>
+ *   <li>{@code loadtest.stub.failure-rate} – share of upstream calls failing with 503 (default 0)</li>
+ *   <li>{@code loadtest.output} – report directory (default {@code target/load-test})</li>
+ * </ul>
+ * Other {@code --key=value} arguments are passed on to the application, e.g. {@code --spring.profiles.active=virtual-threads}.
+ */
+public final class LoadTestRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final int rate;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final WorkloadMix mix;
+    private final int seedUsers;
+    private final int generateSize;
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> seededUsernames = new ArrayList<>();
+    private final ConcurrentLinkedDeque<String> createdUsernames = new ConcurrentLinkedDeque<>();
+    private final AtomicLong nextCreatedUser = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private String baseUrl;
+
+    private LoadTestRunner() {
+        this.rate = Integer.getInteger("loadtest.rate", 50);
+        this.durationSeconds = Integer.getInteger("loadtest.duration", 60);
+        this.warmupSeconds = Integer.getInteger("loadtest.warmup", 15);
+        this.mix = WorkloadMix.parse(System.getProperty("loadtest.mix", "read:70,write:15,generate:5,tree:10"));
+        this.seedUsers = Integer.getInteger("loadtest.seed-users", 2000);
+        this.generateSize = Integer.getInteger("loadtest.generate-size", 10);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestRunner runner = new LoadTestRunner();
+        Duration stubLatency = Duration.ofMillis(Long.getLong("loadtest.stub.latency", 100));
+        double stubFailureRate = Double.parseDouble(System.getProperty("loadtest.stub.failure-rate", "0"));
+        Path output = Path.of(System.getProperty("loadtest.output", "target/load-test"));
+
+        try (UpstreamStub stub = new UpstreamStub(stubLatency, stubFailureRate);
+             ConfigurableApplicationContext app = SpringApplication.run(ApiApplication.class,
+                     applicationArgs(stub, args))) {
+            runner.baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) app).getWebServer().getPort() + "/api/users";
+
+            runner.seed();
+            System.out.printf("Seeded %d users; warming up for %d s at %d req/s%n",
+                    runner.seededUsernames.size(), runner.warmupSeconds, runner.rate);
+            runner.runPhase(runner.warmupSeconds);
+
+            System.out.printf("Measuring for %d s at %d req/s, mix %s%n", runner.durationSeconds, runner.rate, runner.mix);
+            LatencyReport report = runner.runPhase(runner.durationSeconds);
+            System.out.printf("Upstream stub: %d calls, %d failed%n", stub.calls(), stub.failures());
+            report.print(System.out);
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("rate", runner.rate);
+            settings.put("durationSeconds", runner.durationSeconds);
+            settings.put("warmupSeconds", runner.warmupSeconds);
+            settings.put("mix", runner.mix.toString());
+            settings.put("seedUsers", runner.seededUsernames.size());
+            settings.put("generateSize", runner.generateSize);
+            settings.put("stubLatencyMillis", stubLatency.toMillis());
+            settings.put("stubFailureRate", stubFailureRate);
+            settings.put("applicationArgs", List.of(args));
+            report.write(output, settings);
+            System.out.println("Report written to " + output.toAbsolutePath());
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Command-line arguments rather than default properties, so they win over application.properties;
+     * the caller's own arguments come last and win over these.
+     */
+    private static String[] applicationArgs(UpstreamStub stub, String[] args) {
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--random-user.base-url=" + stub.baseUrl(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        applicationArgs.addAll(List.of(args));
+        return applicationArgs.toArray(String[]::new);
+    }
+
+    private void seed() throws Exception {
+        int attempts = 0;
+        while (seededUsernames.size() < seedUsers && attempts++ < seedUsers / 100 + 10) {
+            int batch = Math.min(500, seedUsers - seededUsernames.size());
+            HttpResponse<String> response = client.send(get("/generate/" + batch), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                continue;
+            }
+            for (JsonNode user : objectMapper.readTree(response.body())) {
+                seededUsernames.add(user.get("username").asText());
+            }
+        }
+        if (seededUsernames.isEmpty()) {
+            throw new IllegalStateException("Could not seed any users through /generate");
+        }
+    }
+
+    private LatencyReport runPhase(int seconds) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(mix.next(ThreadLocalRandom.current()), intended, report);
+        }
+        // Let the requests of this phase complete so they are not attributed to the next one.
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private void send(Operation operation, long intendedNanos, LatencyReport report) {
+        String createdUsername = null;
+        HttpRequest request;
+        switch (operation) {
+            case GET_USER -> request = get("/" + seededUsernames.get(ThreadLocalRandom.current().nextInt(seededUsernames.size())));
+            case GET_PAGE -> request = get("/?size=20&page=" + ThreadLocalRandom.current().nextInt(10));
+            case GET_CURSOR -> request = get("/cursor?size=20");
+            case UPDATE_USER, DELETE_USER -> {
+                String username = operation == Operation.DELETE_USER ? createdUsernames.pollFirst() : createdUsernames.peekLast();
+                if (username == null) {
+                    // Nothing of ours to change yet: create instead, so the arrival rate is kept.
+                    send(Operation.CREATE_USER, intendedNanos, report);
+                    return;
+                }
+                request = operation == Operation.DELETE_USER
+                        ? HttpRequest.newBuilder(URI.create(baseUrl + "/" + username)).timeout(REQUEST_TIMEOUT).DELETE().build()
+                        : json("PUT", userJson(username, "Updated"));
+            }
+            case CREATE_USER -> {
+                createdUsername = "load" + nextCreatedUser.getAndIncrement();
+                request = json("POST", userJson(createdUsername, "Created"));
+            }
+            case GENERATE -> request = get("/generate/" + generateSize);
+            case TREE -> request = get("/tree/");
+            default -> throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+
+        String username = createdUsername;
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    boolean failed = error != null || response.statusCode() >= 400;
+                    report.record(operation, System.nanoTime() - intendedNanos, failed);
+                    if (!failed && username != null) {
+                        createdUsernames.addLast(username);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest json(String method, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String userJson(String username, String name) {
+        return """
+                {"username":"%s","name":"%s User","email":"%s@example.com","gender":"Other",\
+                "picture":"https://example.com/%s.jpg","country":"Loadland","state":"Bench","city":"Runner"}"""
+                .formatted(username, name, username, username);
+    }
+}
@@ -0,0 +1,29 @@
+package com.optimal.api.loadtest;
+
+/**
+ * Requests issued by the load test, grouped into the workload categories of the mix.
+ */
+enum Operation {
+    GET_USER(Category.READ),
+    GET_PAGE(Category.READ),
+    GET_CURSOR(Category.READ),
+    CREATE_USER(Category.WRITE),
+    UPDATE_USER(Category.WRITE),
+    DELETE_USER(Category.WRITE),
+    GENERATE(Category.GENERATE),
+    TREE(Category.TREE);
+
+    enum Category {
+        READ, WRITE, GENERATE, TREE
+    }
+
+    private final Category category;
+
+    Operation(Category category) {
+        this.category = category;
+    }
+
+    Category category() {
+        return category;
+    }
+}
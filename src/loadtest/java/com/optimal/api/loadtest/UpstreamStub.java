@@ -0,0 +1,109 @@
+package com.optimal.api.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for randomuser.me. Answers {@code GET /api/?results=n} with {@code n} users
+ * in the upstream format after a fixed latency, and fails a configurable share of the calls
+ * with {@code 503} so the retry and error paths are exercised too.
+ * Usernames are unique for the lifetime of the stub.
+ */
+final class UpstreamStub implements AutoCloseable {
+
+    private static final Pattern RESULTS = Pattern.compile("(?:^|&)results=(\\d+)");
+    private static final String[] COUNTRIES = {"Australia", "Brazil", "Canada", "Denmark", "Finland", "France",
+            "Germany", "India", "Iran", "Ireland", "Mexico", "Netherlands", "New Zealand", "Norway", "Serbia",
+            "Spain", "Switzerland", "Turkey", "Ukraine", "United Kingdom", "United States"};
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final double failureRate;
+    private final AtomicLong nextUser = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    UpstreamStub(Duration latency, double failureRate) throws IOException {
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/";
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    long failures() {
+        return failures.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        calls.incrementAndGet();
+        try (exchange) {
+            Thread.sleep(latency);
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                failures.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] body = users(requestedUsers(exchange.getRequestURI().getRawQuery())).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int requestedUsers(String query) {
+        Matcher matcher = RESULTS.matcher(query == null ? "" : query);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+    }
+
+    private String users(int count) {
+        StringBuilder json = new StringBuilder(count * 400).append("{\"results\":[");
+        for (int i = 0; i < count; i++) {
+            long id = nextUser.getAndIncrement();
+            String country = COUNTRIES[(int) (id % COUNTRIES.length)];
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"gender\":\"").append(id % 2 == 0 ? "male" : "female")
+                    .append("\",\"name\":{\"title\":\"Mx\",\"first\":\"First").append(id)
+                    .append("\",\"last\":\"Last").append(id)
+                    .append("\"},\"location\":{\"city\":\"City ").append(id % 97)
+                    .append("\",\"state\":\"State ").append(id % 13)
+                    .append("\",\"country\":\"").append(country)
+                    .append("\"},\"email\":\"stub").append(id)
+                    .append("@example.com\",\"login\":{\"username\":\"stub").append(id)
+                    .append("\"},\"picture\":{\"large\":\"https://randomuser.me/api/portraits/men/").append(id % 100)
+                    .append(".jpg\"}}");
+        }
+        return json.append("]}").toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
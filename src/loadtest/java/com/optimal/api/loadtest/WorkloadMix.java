@@ -0,0 +1,75 @@
+package com.optimal.api.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice of the next operation. Category weights come from a spec such as
+ * {@code read:70,write:15,generate:5,tree:10}; within a category the split is fixed:
+ * reads are spread evenly, writes are half creates, 30% updates and 20% deletes.
+ */
+final class WorkloadMix {
+
+    private static final Map<Operation, Integer> SHARE_WITHIN_CATEGORY = Map.of(
+            Operation.GET_USER, 1, Operation.GET_PAGE, 1, Operation.GET_CURSOR, 1,
+            Operation.CREATE_USER, 5, Operation.UPDATE_USER, 3, Operation.DELETE_USER, 2,
+            Operation.GENERATE, 1,
+            Operation.TREE, 1);
+
+    private final String spec;
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<Double> cumulativeWeights = new ArrayList<>();
+
+    private WorkloadMix(String spec, Map<Operation.Category, Integer> categoryWeights) {
+        this.spec = spec;
+        double cumulative = 0;
+        for (Operation operation : Operation.values()) {
+            int categoryWeight = categoryWeights.getOrDefault(operation.category(), 0);
+            if (categoryWeight == 0) {
+                continue;
+            }
+            int categoryShares = 0;
+            for (Operation other : Operation.values()) {
+                if (other.category() == operation.category()) {
+                    categoryShares += SHARE_WITHIN_CATEGORY.get(other);
+                }
+            }
+            cumulative += categoryWeight * (double) SHARE_WITHIN_CATEGORY.get(operation) / categoryShares;
+            operations.add(operation);
+            cumulativeWeights.add(cumulative);
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix selects no operation: " + spec);
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        Map<Operation.Category, Integer> weights = new EnumMap<>(Operation.Category.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid workload mix entry '" + entry + "' in " + spec);
+            }
+            weights.put(Operation.Category.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return new WorkloadMix(spec, weights);
+    }
+
+    Operation next(Random random) {
+        double pick = random.nextDouble() * cumulativeWeights.get(cumulativeWeights.size() - 1);
+        for (int i = 0; i < operations.size(); i++) {
+            if (pick < cumulativeWeights.get(i)) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,7 @@
+package com.optimal.api.customExceptions;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.optimal.api.customExceptions;
+
+public class JobRejectedException extends RuntimeException {
+    public JobRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
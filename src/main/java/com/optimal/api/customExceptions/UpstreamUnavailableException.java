@@ -0,0 +1,10 @@
+package com.optimal.api.customExceptions;
+
+/**
+ * The random user API was not called because its circuit breaker is open or too many calls are in flight.
+ */
+public class UpstreamUnavailableException extends RandomUserServiceException {
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.optimal.api.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published after one or more users have been removed from the database.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UsersDeletedEvent {
+    private final List<String> usernames;
+}
@@ -0,0 +1,17 @@
+package com.optimal.api.events;
+
+import com.optimal.api.models.dtos.UserDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published after one or more users have been written to the database,
+ * so in-memory views of the users table can be kept in sync without re-reading it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UsersSavedEvent {
+    private final List<UserDTO> users;
+}
@@ -1,7 +1,11 @@
 package com.optimal.api.exceptionResource;
 
 import com.optimal.api.customExceptions.DuplicateResourceException;
+import com.optimal.api.customExceptions.InvalidRequestException;
+import com.optimal.api.customExceptions.JobNotFoundException;
+import com.optimal.api.customExceptions.JobRejectedException;
 import com.optimal.api.customExceptions.RandomUserServiceException;
+import com.optimal.api.customExceptions.UpstreamUnavailableException;
 import com.optimal.api.customExceptions.UserNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
@@ -37,7 +41,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST) // 400 Bad Request
     public Map<String, String> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        logger.error("Bad request: {}", ex.getMessage(), ex);
+        logger.warn("Bad request: {}", ex.getMessage());
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error ->
                 errors.put(error.getField(), error.getDefaultMessage()));
@@ -54,7 +58,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DuplicateResourceException.class)
     @ResponseStatus(HttpStatus.CONFLICT) // 409 Conflict
     public Map<String, String> handleDuplicateResourceException(DuplicateResourceException ex) {
-        logger.error("Duplicate resource: {}", ex.getMessage(), ex);
+        logger.warn("Duplicate resource: {}", ex.getMessage());
         return Map.of("error", ex.getMessage());
     }
 
@@ -67,7 +71,47 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(UserNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND) // 404 Not Found
     public Map<String, String> handleUserNotFoundException(UserNotFoundException ex) {
-        logger.error("User not found: {}", ex.getMessage(), ex);
+        logger.warn("User not found: {}", ex.getMessage());
+        return Map.of("error", ex.getMessage());
+    }
+
+    /**
+     * Handles job not found exceptions, thrown when polling or cancelling an unknown job.
+     *
+     * @param ex JobNotFoundException
+     * @return Map containing the error message
+     */
+    @ExceptionHandler(JobNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND) // 404 Not Found
+    public Map<String, String> handleJobNotFoundException(JobNotFoundException ex) {
+        logger.warn("Job not found: {}", ex.getMessage());
+        return Map.of("error", ex.getMessage());
+    }
+
+    /**
+     * Handles job rejections, thrown when the background job queue is full.
+     *
+     * @param ex JobRejectedException
+     * @return Map containing the error message
+     */
+    @ExceptionHandler(JobRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 503 Service Unavailable
+    public Map<String, String> handleJobRejectedException(JobRejectedException ex) {
+        logger.warn("Job rejected: {}", ex.getMessage());
+        return Map.of("error", ex.getMessage());
+    }
+
+    /**
+     * Handles requests whose parameters are well-typed but not acceptable,
+     * such as a malformed pagination cursor or an out-of-range page size.
+     *
+     * @param ex InvalidRequestException
+     * @return Map containing the error message
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST) // 400 Bad Request
+    public Map<String, String> handleInvalidRequestException(InvalidRequestException ex) {
+        logger.warn("Invalid request: {}", ex.getMessage());
         return Map.of("error", ex.getMessage());
     }
 
@@ -80,7 +124,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<Map<String, String>> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
-        logger.error("Invalid input type: {}", ex.getMessage(), ex);
+        logger.warn("Invalid input type: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 Map.of("error", "Invalid input.", "details", ex.getMessage())
         );
@@ -99,6 +143,20 @@ public class GlobalExceptionHandler {
                 .body("Database error: " + ex.getMessage());
     }
 
+    /**
+     * Handles calls to the random user API refused locally, while its circuit breaker is open
+     * or too many calls are in flight.
+     *
+     * @param ex UpstreamUnavailableException
+     * @return Map containing the error message
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 503 Service Unavailable
+    public Map<String, String> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        logger.warn("Random user API unavailable: {}", ex.getMessage());
+        return Map.of("error", ex.getMessage());
+    }
+
     /**
      * Handles random user service exceptions, when the call to the api fails.
      *
@@ -121,7 +179,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<String> handleNotFoundException(EntityNotFoundException ex) {
-        logger.info("Entity not found: {}", ex.getMessage(), ex);
+        logger.warn("Entity not found: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body("Entity not found: " + ex.getMessage());
     }
@@ -0,0 +1,59 @@
+package com.optimal.api.facades;
+
+import com.optimal.api.customExceptions.InvalidRequestException;
+import com.optimal.api.models.bo.CursorPageBO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Builds keyset pages for the cursor endpoints of {@link UserFacade} and {@link ReactiveUserFacade}.
+ * <p>
+ * A page of {@code size} is read as {@code size + 1} rows: the extra row only tells whether another page
+ * exists, without a count query, and is not returned.
+ */
+final class CursorPages {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private CursorPages() {
+    }
+
+    /**
+     * @throws InvalidRequestException If the size is not between 1 and {@value #MAX_PAGE_SIZE}
+     */
+    static void checkSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /** @return Number of rows to read for a page of {@code size} */
+    static int rowsToFetch(int size) {
+        return size + 1;
+    }
+
+    /**
+     * @param rows   Rows read with {@link #rowsToFetch(int)}, in id order; not modified
+     * @param size   Page size
+     * @param id     Id of a row, which positions the next cursor
+     * @param mapper Maps a row to its returned representation
+     * @return The page, with a cursor after its last row when more rows exist
+     */
+    static <R, T> CursorPageBO<T> page(List<R> rows, int size, ToLongFunction<R> id, Function<R, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        int pageSize = hasNext ? size : rows.size();
+        List<T> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(mapper.apply(rows.get(i)));
+        }
+        return CursorPageBO.<T>builder()
+                .content(content)
+                .size(pageSize)
+                .nextCursor(hasNext ? UserCursor.encode(id.applyAsLong(rows.get(size - 1))) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.optimal.api.facades;
+
+import com.optimal.api.customExceptions.InvalidRequestException;
+import com.optimal.api.models.bo.CursorPageBO;
+import com.optimal.api.models.bo.GenerationSummaryBO;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.generation.GenerationProgress;
+import com.optimal.api.services.generation.UserGenerationPipeline;
+import com.optimal.api.services.inf.ReactiveUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserFacade}. Every method returns immediately with a
+ * {@link Mono} or {@link Flux}; nothing here blocks a thread.
+ */
+@Controller
+public class ReactiveUserFacade {
+
+    @Autowired
+    private ReactiveUserService reactiveUserService;
+
+    @Autowired
+    private UserGenerationPipeline userGenerationPipeline;
+
+    public Mono<CursorPageBO<UserBO>> getUsersAfter(String cursor, int size) {
+        return Mono.fromCallable(() -> {
+                    CursorPages.checkSize(size);
+                    return UserCursor.decode(cursor);
+                })
+                .flatMap(lastId -> reactiveUserService.getUsersAfter(lastId, CursorPages.rowsToFetch(size)).collectList())
+                .map(users -> CursorPages.page(users, size, UserDTO::getId, UserDTO::toBO));
+    }
+
+    public Flux<UserBO> exportUsers() {
+        return reactiveUserService.getAllUsers().map(UserDTO::toBO);
+    }
+
+    public Mono<UserBO> getUserByUsername(String username) {
+        return reactiveUserService.getUserByUsername(username).map(UserDTO::toBO);
+    }
+
+    public Mono<UserBO> createUser(UserBO user) {
+        return reactiveUserService.createUser(user.toRO()).map(UserDTO::toBO);
+    }
+
+    public Mono<UserBO> updateUser(UserBO updatedUser) {
+        return reactiveUserService.updateUser(updatedUser.toRO()).map(UserDTO::toBO);
+    }
+
+    public Mono<Void> deleteUser(String username) {
+        return reactiveUserService.deleteUser(username);
+    }
+
+    public Mono<GenerationSummaryBO> generateRandomUsers(int number) {
+        if (number < 1) {
+            return Mono.error(new InvalidRequestException("Number of users to generate must be positive"));
+        }
+        return userGenerationPipeline.runNonBlocking(new GenerationProgress(number))
+                .map(UserFacade::toSummary);
+    }
+}
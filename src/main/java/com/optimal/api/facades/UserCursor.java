@@ -0,0 +1,47 @@
+package com.optimal.api.facades;
+
+import com.optimal.api.customExceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the position of a keyset page as an opaque, URL-safe continuation token.
+ * Clients must not rely on its content, which leaves room to add sort keys later.
+ */
+final class UserCursor {
+
+    private static final String PREFIX = "id:";
+
+    private UserCursor() {
+    }
+
+    static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor Token returned with the previous page, or {@code null} for the first page
+     * @return Id of the last user already returned
+     * @throws InvalidRequestException If the token was not issued by {@link #encode(long)}
+     */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            long lastId = Long.parseLong(decoded.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            return lastId;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -1,34 +1,179 @@
 package com.optimal.api.facades;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimal.api.customExceptions.InvalidRequestException;
+import com.optimal.api.models.bo.BulkItemResultBO;
+import com.optimal.api.models.bo.BulkItemStatus;
+import com.optimal.api.models.bo.BulkResultBO;
+import com.optimal.api.models.bo.CursorPageBO;
+import com.optimal.api.models.bo.GenerationJobBO;
+import com.optimal.api.models.bo.GenerationSummaryBO;
 import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.bo.UserCountBO;
+import com.optimal.api.models.bo.UserLookupBO;
+import com.optimal.api.models.bo.UserSearchBO;
+import com.optimal.api.models.bo.UserSuggestionBO;
+import com.optimal.api.models.dtos.UserCountDTO;
 import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.cache.UserLookupCache;
+import com.optimal.api.services.generation.GenerationJob;
+import com.optimal.api.services.generation.GenerationProgress;
+import com.optimal.api.services.generation.UserGenerationPipeline;
+import com.optimal.api.services.index.UserSearchIndex;
+import com.optimal.api.services.index.UserTreeIndex;
+import com.optimal.api.services.inf.GenerationJobService;
 import com.optimal.api.services.inf.UserService;
 import com.optimal.api.services.external.inf.RandomUserGenerator;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Controller
+@Timed(value = "users.facade", description = "User facade operations")
 public class UserFacade {
 
+    private static final int MAX_BATCH_LOOKUP_SIZE = 1000;
+    private static final int MAX_BULK_SIZE = 10_000;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_AUTOCOMPLETE_QUERY_LENGTH = 100;
+    /** UserBO properties a search can select; all of them when none is requested. */
+    private static final List<String> SEARCH_FIELDS =
+            List.of("username", "name", "email", "gender", "picture", "country", "state", "city");
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private RandomUserGenerator randomUserGenerator;
 
+    @Autowired
+    private UserTreeIndex userTreeIndex;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    private UserGenerationPipeline userGenerationPipeline;
+
+    @Autowired
+    private GenerationJobService generationJobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
     public Page<UserBO> getAllUsers(Pageable pageable) {
         return userService.getAllUsers(pageable).map(UserDTO::toBO);
     }
 
+    public CursorPageBO<UserBO> getUsersAfter(String cursor, int size) {
+        CursorPages.checkSize(size);
+        List<UserDTO> users = userService.getUsersAfter(UserCursor.decode(cursor), CursorPages.rowsToFetch(size));
+        return CursorPages.page(users, size, UserDTO::getId, UserDTO::toBO);
+    }
+
+    public CursorPageBO<Map<String, Object>> searchUsers(UserSearchBO criteria, List<String> fields,
+                                                         String cursor, int size) {
+        CursorPages.checkSize(size);
+        List<String> selectedFields = searchFields(fields);
+        List<Map<String, Object>> rows = userService.searchUsers(criteria.toRO(), selectedFields, UserCursor.decode(cursor),
+                CursorPages.rowsToFetch(size));
+        return CursorPages.page(rows, size, row -> (Long) row.get("id"), UserFacade::withoutId);
+    }
+
+    /** The id only positions the cursor; it is not part of the public user representation. */
+    private static Map<String, Object> withoutId(Map<String, Object> row) {
+        Map<String, Object> user = new LinkedHashMap<>(row.size() * 4 / 3 + 1);
+        row.forEach((field, value) -> {
+            if (!"id".equals(field)) {
+                user.put(field, value);
+            }
+        });
+        return user;
+    }
+
+    private static List<String> searchFields(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return SEARCH_FIELDS;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields) {
+            String name = field.trim();
+            if (!SEARCH_FIELDS.contains(name)) {
+                throw new InvalidRequestException("Unknown field '" + name + "', expected any of " + SEARCH_FIELDS);
+            }
+            selected.add(name);
+        }
+        return new ArrayList<>(selected);
+    }
+
+    public List<UserSuggestionBO> autocomplete(String query, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_AUTOCOMPLETE_QUERY_LENGTH) {
+            throw new InvalidRequestException("Query must have between 1 and " + MAX_AUTOCOMPLETE_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return userSearchIndex.suggest(query, limit);
+    }
+
     public UserBO getUserByUsername(String username) {
-        return userService.getUserByUsername(username).toBO();
+        return userLookupCache.get(username, name -> userService.getUserByUsername(name).toBO());
+    }
+
+    public UserLookupBO getUsersByUsernames(List<String> usernames) {
+        if (usernames == null || usernames.isEmpty() || usernames.size() > MAX_BATCH_LOOKUP_SIZE) {
+            throw new InvalidRequestException("Between 1 and " + MAX_BATCH_LOOKUP_SIZE + " usernames must be given");
+        }
+        if (usernames.stream().anyMatch(username -> username == null || username.isBlank())) {
+            throw new InvalidRequestException("Usernames must not be blank");
+        }
+        Set<String> distinctUsernames = new LinkedHashSet<>(usernames);
+        // Cached users (and cached misses) are served directly; only the rest reach the database, in one query per chunk.
+        Map<String, UserBO> found = userLookupCache.getAll(distinctUsernames, misses -> {
+            List<UserDTO> loaded = userService.getUsersByUsernames(misses);
+            Map<String, UserBO> loadedByUsername = new HashMap<>(loaded.size() * 4 / 3 + 1);
+            loaded.forEach(user -> loadedByUsername.put(user.getUsername(), user.toBO()));
+            return loadedByUsername;
+        });
+        List<UserBO> users = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>(distinctUsernames.size() - found.size());
+        for (String username : distinctUsernames) {
+            UserBO user = found.get(username);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missing.add(username);
+            }
+        }
+        return UserLookupBO.builder().users(users).missing(missing).build();
     }
 
     public UserBO createUser(UserBO user) {
@@ -43,25 +188,207 @@ public class UserFacade {
         userService.deleteUser(username);
     }
 
+    public BulkResultBO createUsers(List<UserBO> users) {
+        return bulk(users, UserBO::getUsername, this::violations,
+                valid -> userService.saveAllUsers(toROs(valid)).stream().map(UserDTO::getUsername).toList(),
+                BulkItemStatus.CREATED, BulkItemStatus.CONFLICT);
+    }
+
+    public BulkResultBO updateUsers(List<UserBO> users) {
+        return bulk(users, UserBO::getUsername, this::violations,
+                valid -> userService.updateAllUsers(toROs(valid)).stream().map(UserDTO::getUsername).toList(),
+                BulkItemStatus.UPDATED, BulkItemStatus.NOT_FOUND);
+    }
+
+    public BulkResultBO deleteUsers(List<String> usernames) {
+        return bulk(usernames, Function.identity(),
+                username -> username.isBlank() ? "Username is required" : null,
+                userService::deleteAllUsers,
+                BulkItemStatus.DELETED, BulkItemStatus.NOT_FOUND);
+    }
+
+    /**
+     * Validates every item on its own, so that one bad item is reported instead of failing the request,
+     * and writes the valid ones in a single service call.
+     *
+     * @param write   Writes the valid items and returns the usernames actually written
+     * @param written Status of the items whose username {@code write} returned
+     * @param skipped Status of the other valid items
+     */
+    private <T> BulkResultBO bulk(List<T> items, Function<T, String> usernameOf, Function<T, String> violationsOf,
+                                  Function<List<T>, Collection<String>> write,
+                                  BulkItemStatus written, BulkItemStatus skipped) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BULK_SIZE) {
+            throw new InvalidRequestException("Between 1 and " + MAX_BULK_SIZE + " items must be given");
+        }
+        BulkItemResultBO[] results = new BulkItemResultBO[items.size()];
+        Map<String, Integer> indexByUsername = new HashMap<>(items.size() * 4 / 3 + 1);
+        List<T> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            String username = item == null ? null : usernameOf.apply(item);
+            String violations = item == null ? "Item is required" : violationsOf.apply(item);
+            if (violations == null && indexByUsername.putIfAbsent(username, i) != null) {
+                violations = "Username repeated in the request";
+            }
+            if (violations != null) {
+                results[i] = new BulkItemResultBO(i, username, BulkItemStatus.INVALID, violations);
+            } else {
+                valid.add(item);
+            }
+        }
+
+        Set<String> done = valid.isEmpty() ? Set.of() : new HashSet<>(write.apply(valid));
+        for (T item : valid) {
+            String username = usernameOf.apply(item);
+            int index = indexByUsername.get(username);
+            results[index] = new BulkItemResultBO(index, username, done.contains(username) ? written : skipped, null);
+        }
+
+        Map<BulkItemStatus, Integer> counts = new EnumMap<>(BulkItemStatus.class);
+        for (BulkItemResultBO result : results) {
+            counts.merge(result.getStatus(), 1, Integer::sum);
+        }
+        return BulkResultBO.builder().counts(counts).items(Arrays.asList(results)).build();
+    }
+
+    private String violations(UserBO user) {
+        Set<ConstraintViolation<UserBO>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static List<UserBO> toUserBOs(List<UserDTO> users) {
+        List<UserBO> userBOS = new ArrayList<>(users.size());
+        users.forEach(user -> userBOS.add(user.toBO()));
+        return userBOS;
+    }
+
+    private static List<UserDTO> toROs(List<UserBO> users) {
+        List<UserDTO> userDTOS = new ArrayList<>(users.size());
+        users.forEach(user -> userDTOS.add(user.toRO()));
+        return userDTOS;
+    }
+
     public List<UserBO> generateRandomUsers(int number) {
+        if (number < 1) {
+            throw new InvalidRequestException("Number of users to generate must be positive");
+        }
         List<UserDTO> randomUsers = randomUserGenerator.getRandomUsers(number);
-        List<UserDTO> userDTOS = userService.saveAllUsers(randomUsers);
-        return userDTOS.stream().map(UserDTO::toBO).collect(Collectors.toList());
+        return toUserBOs(userService.saveAllUsers(randomUsers));
+    }
+
+    public GenerationSummaryBO generateRandomUsersPipelined(int number) {
+        if (number < 1) {
+            throw new InvalidRequestException("Number of users to generate must be positive");
+        }
+        GenerationProgress progress = userGenerationPipeline.run(new GenerationProgress(number)).block();
+        return toSummary(progress);
+    }
+
+    static GenerationSummaryBO toSummary(GenerationProgress progress) {
+        return GenerationSummaryBO.builder()
+                .requested(progress.getRequested())
+                .fetched(progress.getFetched())
+                .persisted(progress.getPersisted())
+                .skipped(progress.getSkipped())
+                .failed(progress.getFailed())
+                .cancelled(progress.getCancelled())
+                .elapsedMillis(progress.getElapsedMillis())
+                .usersPerSecond(progress.getThroughput())
+                .build();
+    }
+
+    public GenerationJobBO submitGenerationJob(int number) {
+        if (number < 1) {
+            throw new InvalidRequestException("Number of users to generate must be positive");
+        }
+        return toBO(generationJobService.submit(number));
+    }
+
+    public GenerationJobBO getGenerationJob(String jobId) {
+        return toBO(generationJobService.getJob(jobId));
+    }
+
+    public GenerationJobBO cancelGenerationJob(String jobId) {
+        return toBO(generationJobService.cancel(jobId));
+    }
+
+    private static GenerationJobBO toBO(GenerationJob job) {
+        GenerationProgress progress = job.getProgress();
+        return GenerationJobBO.builder()
+                .id(job.getId())
+                .status(job.getStatus().name())
+                .submittedAt(job.getSubmittedAt())
+                .requested(progress.getRequested())
+                .fetched(progress.getFetched())
+                .persisted(progress.getPersisted())
+                .skipped(progress.getSkipped())
+                .failed(job.getStatus().isFinished() ? progress.getFailed() : 0)
+                .cancelled(job.getStatus().isFinished() ? progress.getCancelled() : 0)
+                .elapsedMillis(progress.getElapsedMillis())
+                .usersPerSecond(progress.getThroughput())
+                .error(job.getError())
+                .build();
+    }
+
+    public List<UserCountBO> countUsersByCountry() {
+        return toBOs(userService.countUsersByCountry());
+    }
+
+    public List<UserCountBO> countUsersByState(String country) {
+        return toBOs(userService.countUsersByState(country));
+    }
+
+    public List<UserCountBO> countUsersByCity(String country, String state) {
+        return toBOs(userService.countUsersByCity(country, state));
+    }
+
+    public List<UserCountBO> countUsersByGender() {
+        return toBOs(userService.countUsersByGender());
+    }
+
+    private static List<UserCountBO> toBOs(List<UserCountDTO> counts) {
+        List<UserCountBO> countBOs = new ArrayList<>(counts.size());
+        counts.forEach(count -> countBOs.add(count.toBO()));
+        return countBOs;
     }
 
     public Map<String, Map<String, Map<String, List<UserBO>>>> getUserTree() {
-        List<UserDTO> users = userService.getAllUsers(PageRequest.of(0, Integer.MAX_VALUE))
-                .getContent();
-        return users.stream().map(UserDTO::toBO)
-                .collect(Collectors.groupingBy(
-                        UserBO::getCountry,
-                        Collectors.groupingBy(
-                                UserBO::getState,
-                                Collectors.groupingBy(
-                                        UserBO::getCity,
-                                        Collectors.toList() // Store the full User objects
-                                )
-                        )
-                ));
+        return userTreeIndex.getTree();
+    }
+
+    public void writeUserTree(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            UserTreeJsonWriter treeWriter = new UserTreeJsonWriter(generator);
+            treeWriter.start();
+            userService.forEachUserByLocation(treeWriter);
+            treeWriter.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes every user as one line of JSON, straight from the entity: no {@link UserBO} is created per user.
+     */
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(UserJsonWriter.LINE_SEPARATOR);
+            userService.forEachUser(user -> {
+                try {
+                    UserJsonWriter.write(generator, user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 }
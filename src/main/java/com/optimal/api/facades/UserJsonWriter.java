@@ -0,0 +1,52 @@
+package com.optimal.api.facades;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link UserDTO} as the JSON object of its {@link UserBO}, without creating the {@code UserBO}.
+ * <p>
+ * Used by the endpoints streaming every user, where one {@code UserBO} per row plus Jackson's bean serializer
+ * are most of the work. Field names are pre-encoded once. The output is the same as Jackson's for the
+ * {@code UserBO}: same properties, same order, {@code null} values included.
+ */
+public final class UserJsonWriter {
+
+    /** Root value separator of newline-delimited JSON. */
+    public static final SerializableString LINE_SEPARATOR = new SerializedString("\n");
+
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString GENDER = new SerializedString("gender");
+    private static final SerializableString PICTURE = new SerializedString("picture");
+    private static final SerializableString COUNTRY = new SerializedString("country");
+    private static final SerializableString STATE = new SerializedString("state");
+    private static final SerializableString CITY = new SerializedString("city");
+
+    private UserJsonWriter() {
+    }
+
+    public static void write(JsonGenerator generator, UserDTO user) throws IOException {
+        generator.writeStartObject();
+        writeField(generator, USERNAME, user.getUsername());
+        writeField(generator, NAME, user.getName());
+        writeField(generator, EMAIL, user.getEmail());
+        writeField(generator, GENDER, user.getGender());
+        writeField(generator, PICTURE, user.getPicture());
+        writeField(generator, COUNTRY, user.getCountry());
+        writeField(generator, STATE, user.getState());
+        writeField(generator, CITY, user.getCity());
+        generator.writeEndObject();
+    }
+
+    private static void writeField(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeString(value); // writes null for null
+    }
+}
@@ -0,0 +1,93 @@
+package com.optimal.api.facades;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.optimal.api.models.dtos.UserDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Writes users, received in country → state → city order, as the nested JSON object
+ * served by {@code /api/users/tree/}. Only the branch currently being written is kept,
+ * so memory does not grow with the number of users, and users are written straight from the entity.
+ */
+class UserTreeJsonWriter implements Consumer<UserDTO> {
+
+    private final JsonGenerator generator;
+
+    private String country;
+    private String state;
+    private String city;
+
+    UserTreeJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    void start() throws IOException {
+        generator.writeStartObject();
+    }
+
+    @Override
+    public void accept(UserDTO user) {
+        try {
+            String userCountry = key(user.getCountry());
+            String userState = key(user.getState());
+            String userCity = key(user.getCity());
+
+            if (country == null || !country.equals(userCountry)) {
+                closeCountry();
+                generator.flush();
+                country = userCountry;
+                generator.writeObjectFieldStart(country);
+            }
+            if (state == null || !state.equals(userState)) {
+                closeState();
+                state = userState;
+                generator.writeObjectFieldStart(state);
+            }
+            if (city == null || !city.equals(userCity)) {
+                closeCity();
+                city = userCity;
+                generator.writeArrayFieldStart(city);
+            }
+            UserJsonWriter.write(generator, user);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void finish() throws IOException {
+        closeCountry();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    private void closeCountry() throws IOException {
+        closeState();
+        if (country != null) {
+            generator.writeEndObject();
+            country = null;
+        }
+    }
+
+    private void closeState() throws IOException {
+        closeCity();
+        if (state != null) {
+            generator.writeEndObject();
+            state = null;
+        }
+    }
+
+    private void closeCity() throws IOException {
+        if (city != null) {
+            generator.writeEndArray();
+            city = null;
+        }
+    }
+
+    private static String key(String value) {
+        return Objects.toString(value, "");
+    }
+}
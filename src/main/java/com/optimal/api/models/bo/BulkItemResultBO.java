@@ -0,0 +1,21 @@
+package com.optimal.api.models.bo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Result of one item of a bulk request, at the same position as the item in the request.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResultBO {
+    private final int index;
+    private final String username;
+    private final BulkItemStatus status;
+    /** Why the item is {@link BulkItemStatus#INVALID}; absent otherwise. */
+    private final String message;
+}
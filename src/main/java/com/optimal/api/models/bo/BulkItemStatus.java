@@ -0,0 +1,16 @@
+package com.optimal.api.models.bo;
+
+/**
+ * Outcome of one item of a bulk create, update or delete.
+ */
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /** Create of a username that already exists. */
+    CONFLICT,
+    /** Update or delete of a username that does not exist. */
+    NOT_FOUND,
+    /** The item failed validation, or repeats a username given earlier in the same request; nothing was written. */
+    INVALID
+}
@@ -0,0 +1,19 @@
+package com.optimal.api.models.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a bulk create, update or delete: how many items ended in each status, and the status of every item.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class BulkResultBO {
+    private final Map<BulkItemStatus, Integer> counts;
+    private final List<BulkItemResultBO> items;
+}
@@ -0,0 +1,21 @@
+package com.optimal.api.models.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) paginated listing.
+ * The next page is requested by passing {@code nextCursor} back, which is {@code null} on the last page.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class CursorPageBO<T> {
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+    private final boolean hasNext;
+}
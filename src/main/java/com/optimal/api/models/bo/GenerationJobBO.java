@@ -0,0 +1,28 @@
+package com.optimal.api.models.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * State of a background random user generation job, as returned when polling it.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class GenerationJobBO {
+    private final String id;
+    private final String status;
+    private final Instant submittedAt;
+    private final int requested;
+    private final long fetched;
+    private final long persisted;
+    private final long skipped;
+    private final long failed;
+    private final long cancelled;
+    private final long elapsedMillis;
+    private final double usersPerSecond;
+    private final String error;
+}
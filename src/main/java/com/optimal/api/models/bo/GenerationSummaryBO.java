@@ -0,0 +1,22 @@
+package com.optimal.api.models.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Outcome of a random user generation run, returned instead of the generated users.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class GenerationSummaryBO {
+    private final int requested;
+    private final long fetched;
+    private final long persisted;
+    private final long skipped;
+    private final long failed;
+    private final long cancelled;
+    private final long elapsedMillis;
+    private final double usersPerSecond;
+}
@@ -17,6 +17,9 @@ import org.springframework.validation.annotation.Validated;
 public class UserBO implements BO<UserDTO> {
     @NotBlank(message = "Username is required")
     @Size(min = 4, max = 20, message = "Username must be between 4 and 20 characters")
+    // Literal path segments of the user routes: GET /api/users/search would never reach a user named "search".
+    @Pattern(regexp = "(?!(autocomplete|batch|bulk|cursor|export|generate|search|stats|tree)$).*",
+            message = "Username is reserved")
     private String username;
 
     @NotBlank(message = "Name is required")
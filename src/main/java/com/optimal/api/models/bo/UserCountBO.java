@@ -0,0 +1,16 @@
+package com.optimal.api.models.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Number of users in one country, state, city or gender.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class UserCountBO {
+    private final String name;
+    private final long users;
+}
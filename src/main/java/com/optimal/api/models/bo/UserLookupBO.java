@@ -0,0 +1,18 @@
+package com.optimal.api.models.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Result of a batch lookup by username: the users found, in request order, and the usernames that do not exist.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class UserLookupBO {
+    private final List<UserBO> users;
+    private final List<String> missing;
+}
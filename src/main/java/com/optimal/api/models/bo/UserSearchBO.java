@@ -0,0 +1,34 @@
+package com.optimal.api.models.bo;
+
+import com.optimal.api.models.dtos.UserSearchCriteriaDTO;
+import com.optimal.api.settings.BO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Filters of a user search as given by the client. Every filter is optional.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class UserSearchBO implements BO<UserSearchCriteriaDTO> {
+    private final String country;
+    private final String state;
+    private final String city;
+    private final String gender;
+    private final String namePrefix;
+    private final String emailPrefix;
+
+    @Override
+    public UserSearchCriteriaDTO toRO() {
+        return UserSearchCriteriaDTO.builder()
+                .country(this.country)
+                .state(this.state)
+                .city(this.city)
+                .gender(this.gender)
+                .namePrefix(this.namePrefix)
+                .emailPrefix(this.emailPrefix)
+                .build();
+    }
+}
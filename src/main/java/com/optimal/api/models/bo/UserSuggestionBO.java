@@ -0,0 +1,17 @@
+package com.optimal.api.models.bo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * One autocomplete suggestion: the fields a user can be found by.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class UserSuggestionBO {
+    private final String username;
+    private final String name;
+    private final String email;
+}
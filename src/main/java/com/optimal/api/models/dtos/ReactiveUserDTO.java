@@ -0,0 +1,43 @@
+package com.optimal.api.models.dtos;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code users} table, read by the reactive API.
+ * The table itself is owned by the JPA {@link UserDTO} entity; rows are handed on as {@link UserDTO}s.
+ */
+@Table("users")
+@NoArgsConstructor(force = true)
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class ReactiveUserDTO {
+    @Id
+    private Long id;
+
+    private String username;
+    private String name;
+    private String email;
+    private String gender;
+    private String picture;
+    private String country;
+    private String state;
+    private String city;
+
+    public UserDTO toUserDTO() {
+        return UserDTO.builder()
+                .id(this.id)
+                .username(this.username)
+                .name(this.name)
+                .email(this.email)
+                .gender(this.gender)
+                .picture(this.picture)
+                .country(this.country)
+                .state(this.state)
+                .city(this.city)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.optimal.api.models.dtos;
+
+import com.optimal.api.models.bo.UserCountBO;
+import com.optimal.api.settings.RO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Number of users sharing one value of a grouped column, as returned by the {@code group by} queries.
+ */
+@AllArgsConstructor
+@Getter
+public class UserCountDTO implements RO<UserCountBO> {
+    private final String value;
+    private final Long users;
+
+    @Override
+    public UserCountBO toBO() {
+        return new UserCountBO(value, users);
+    }
+}
@@ -7,7 +7,12 @@ import lombok.*;
 import jakarta.persistence.Id;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Location hierarchy, leftmost prefix first: serves country, country+state and country+state+city
+        // filters, the grouped counts, and the tree's order by country, state, city.
+        @Index(name = "idx_users_location", columnList = "country, state, city"),
+        @Index(name = "idx_users_gender", columnList = "gender")
+})
 @NoArgsConstructor(force = true) // Ensures fields are initialized
 @AllArgsConstructor // Required for @Builder
 @Builder
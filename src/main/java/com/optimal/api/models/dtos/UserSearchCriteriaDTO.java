@@ -0,0 +1,22 @@
+package com.optimal.api.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Filters of a user search. Every filter is optional; the ones given must all match.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class UserSearchCriteriaDTO {
+    private final String country;
+    private final String state;
+    private final String city;
+    private final String gender;
+    /** Case-insensitive prefix of the name. */
+    private final String namePrefix;
+    /** Case-insensitive prefix of the email. */
+    private final String emailPrefix;
+}
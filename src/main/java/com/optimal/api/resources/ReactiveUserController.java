@@ -0,0 +1,140 @@
+package com.optimal.api.resources;
+
+import com.optimal.api.facades.ReactiveUserFacade;
+import com.optimal.api.models.bo.CursorPageBO;
+import com.optimal.api.models.bo.GenerationSummaryBO;
+import com.optimal.api.models.bo.UserBO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link UserController}, backed by R2DBC.
+ * <p>
+ * Handlers return {@link Mono} or {@link Flux}. The request thread is released as soon as the
+ * handler returns and the response is written when the publisher completes, so waiting on the
+ * database or the random user API does not hold a server thread.
+ */
+@RestController
+@RequestMapping("/api/reactive/users")
+@Tag(name = "Reactive User API", description = "Non-blocking operations related to user management")
+public class ReactiveUserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserController.class);
+
+    @Autowired
+    private ReactiveUserFacade reactiveUserFacade;
+
+    /**
+     * Fetch users with keyset pagination.
+     *
+     * @param cursor Continuation token returned with the previous page; omit for the first page
+     * @param size   Number of users per page
+     * @return Page of UserBO with the cursor of the next page
+     */
+    @Operation(summary = "Get users by cursor", description = "Fetch users page by page using an opaque continuation cursor")
+    @GetMapping("/cursor")
+    public Mono<CursorPageBO<UserBO>> getUsersByCursor(
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of users per page", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        logger.debug("Fetching {} users after cursor: {}", size, cursor);
+        return reactiveUserFacade.getUsersAfter(cursor, size);
+    }
+
+    /**
+     * Export all users as newline-delimited JSON, one user per line, written as rows are read.
+     *
+     * @return Streamed users
+     */
+    @Operation(summary = "Export all users", description = "Stream every user as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserBO> exportUsers() {
+        logger.debug("Exporting all users");
+        return reactiveUserFacade.exportUsers();
+    }
+
+    /**
+     * Fetch a user by their unique username.
+     *
+     * @param username Username of the user
+     * @return UserBO object
+     */
+    @Operation(summary = "Get user by username", description = "Fetch a user by their unique username")
+    @GetMapping("/{username}")
+    public Mono<UserBO> getUser(
+            @Parameter(description = "Username of the user", example = "john_doe")
+            @PathVariable String username) {
+        logger.debug("Fetching user with username: {}", username);
+        return reactiveUserFacade.getUserByUsername(username);
+    }
+
+    /**
+     * Create a new user.
+     *
+     * @param user UserBO object containing user details
+     * @return Created UserBO object
+     */
+    @Operation(summary = "Create a new user", description = "Add a new user to the system")
+    @PostMapping("/")
+    public Mono<ResponseEntity<UserBO>> createUser(@Valid @RequestBody UserBO user) {
+        logger.debug("Creating new user: {}", user.getUsername());
+        return reactiveUserFacade.createUser(user)
+                .map(createdUser -> ResponseEntity.status(HttpStatus.CREATED).body(createdUser));
+    }
+
+    /**
+     * Update an existing user's details.
+     *
+     * @param updatedUser Updated UserBO object
+     * @return Updated UserBO object
+     */
+    @Operation(summary = "Update user details", description = "Modify an existing user's information")
+    @PutMapping("/")
+    public Mono<UserBO> updateUser(@Valid @RequestBody UserBO updatedUser) {
+        logger.debug("Updating user: {}", updatedUser.getUsername());
+        return reactiveUserFacade.updateUser(updatedUser);
+    }
+
+    /**
+     * Delete a user by their username.
+     *
+     * @param username Username of the user to be deleted
+     */
+    @Operation(summary = "Delete a user", description = "Remove a user by their username")
+    @DeleteMapping("/{username}")
+    public Mono<String> deleteUser(
+            @Parameter(description = "Username of the user to delete", example = "john_doe")
+            @PathVariable String username) {
+        logger.debug("Deleting user with username: {}", username);
+        return reactiveUserFacade.deleteUser(username)
+                .thenReturn("User deleted successfully.");
+    }
+
+    /**
+     * Generate random users without blocking: the upstream stream is persisted chunk by chunk
+     * over R2DBC and a summary is returned once done.
+     *
+     * @param number Number of users to generate
+     * @return Summary of the generation run
+     */
+    @Operation(summary = "Generate random users (non-blocking)", description = "Fetch and persist random users chunk by chunk and return a summary")
+    @GetMapping("/generate/{number}")
+    public Mono<GenerationSummaryBO> generateUsers(
+            @Parameter(description = "Number of random users to generate", example = "1000")
+            @PathVariable Integer number) {
+        logger.info("Generating {} random users (non-blocking)", number);
+        return reactiveUserFacade.generateRandomUsers(number);
+    }
+}
@@ -0,0 +1,116 @@
+package com.optimal.api.resources;
+
+import com.optimal.api.settings.RequestLoggingProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Writes one access log line per request, replacing the per-layer INFO lines of the controllers and services.
+ * <p>
+ * Server errors and slow requests are always candidates; other requests are sampled. Whatever is selected is then
+ * capped at a number of lines per second so that a burst cannot turn logging into the bottleneck; lines dropped by
+ * the cap are counted and reported on the next line written. The fields are structured arguments, so they become
+ * JSON attributes with the {@code prod} logging profile and {@code key=value} pairs otherwise.
+ */
+@Component
+@ConditionalOnProperty(prefix = "users.request-logging", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.optimal.api.requests");
+
+    @Autowired
+    private RequestLoggingProperties properties;
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger loggedThisSecond = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!logger.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (Throwable e) {
+            // The container only turns the exception into a 500 after this filter returns; the response still says 200.
+            log(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, System.nanoTime() - start);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            // Streaming and reactive endpoints: the status and duration are only known once the response completes.
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    log(request, response.getStatus(), System.nanoTime() - start);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            log(request, response.getStatus(), System.nanoTime() - start);
+        }
+    }
+
+    void log(HttpServletRequest request, int status, long durationNanos) {
+        boolean always = status >= 500 || durationNanos >= properties.getSlowThreshold().toNanos();
+        if (!always && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+        if (!tryAcquire()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        logger.info("{} {} {} {} {}",
+                kv("method", request.getMethod()),
+                kv("path", request.getRequestURI()),
+                kv("status", status),
+                kv("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos)),
+                kv("suppressed", suppressed.getAndSet(0)));
+    }
+
+    /** Fixed one-second window; good enough to bound the log volume without a lock. */
+    private boolean tryAcquire() {
+        int limit = properties.getMaxPerSecond();
+        if (limit <= 0) {
+            return true;
+        }
+        long second = System.nanoTime() / 1_000_000_000L;
+        long current = currentSecond.get();
+        if (second != current && currentSecond.compareAndSet(current, second)) {
+            loggedThisSecond.set(0);
+        }
+        return loggedThisSecond.incrementAndGet() <= limit;
+    }
+}
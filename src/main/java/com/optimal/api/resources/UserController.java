@@ -1,7 +1,15 @@
 package com.optimal.api.resources;
 
 import com.optimal.api.facades.UserFacade;
+import com.optimal.api.models.bo.BulkResultBO;
+import com.optimal.api.models.bo.CursorPageBO;
+import com.optimal.api.models.bo.GenerationJobBO;
+import com.optimal.api.models.bo.GenerationSummaryBO;
 import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.bo.UserCountBO;
+import com.optimal.api.models.bo.UserLookupBO;
+import com.optimal.api.models.bo.UserSearchBO;
+import com.optimal.api.models.bo.UserSuggestionBO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,8 +20,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -40,12 +50,87 @@ public class UserController {
     @Operation(summary = "Get all users", description = "Fetch paginated list of all users")
     @GetMapping("/")
     public ResponseEntity<Page<UserBO>> getAllUsers(Pageable pageable) {
-        logger.info("Fetching all users with pagination settings: {}", pageable);
+        logger.debug("Fetching all users with pagination settings: {}", pageable);
         Page<UserBO> users = userFacade.getAllUsers(pageable);
-        logger.info("Retrieved {} users", users.getTotalElements());
+        logger.debug("Retrieved {} users", users.getTotalElements());
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Fetch users with keyset pagination.
+     * Cost per page does not depend on how deep the page is, and no total count is computed.
+     *
+     * @param cursor Continuation token returned with the previous page; omit for the first page
+     * @param size   Number of users per page
+     * @return Page of UserBO with the cursor of the next page
+     */
+    @Operation(summary = "Get users by cursor", description = "Fetch users page by page using an opaque continuation cursor")
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageBO<UserBO>> getUsersByCursor(
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of users per page", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        logger.debug("Fetching {} users after cursor: {}", size, cursor);
+        CursorPageBO<UserBO> users = userFacade.getUsersAfter(cursor, size);
+        logger.debug("Retrieved {} users", users.getSize());
+        return ResponseEntity.ok(users);
+    }
+
+    /**
+     * Search users with optional filters, returning only the requested fields.
+     *
+     * @return Page of users, each with the requested fields only, and the cursor of the next page
+     */
+    @Operation(summary = "Search users",
+            description = "Filter users by location, gender and name or email prefix; `fields` selects the properties returned")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageBO<Map<String, Object>>> searchUsers(
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String gender,
+            @Parameter(description = "Case-insensitive prefix of the name", example = "jo")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Case-insensitive prefix of the email", example = "john.")
+            @RequestParam(required = false) String email,
+            @Parameter(description = "Comma-separated properties to return; all when omitted", example = "username,name")
+            @RequestParam(required = false) List<String> fields,
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of users per page", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        UserSearchBO criteria = UserSearchBO.builder()
+                .country(country)
+                .state(state)
+                .city(city)
+                .gender(gender)
+                .namePrefix(name)
+                .emailPrefix(email)
+                .build();
+        logger.debug("Searching {} users selecting {}", size, fields);
+        CursorPageBO<Map<String, Object>> users = userFacade.searchUsers(criteria, fields, cursor, size);
+        logger.debug("Found {} users", users.getSize());
+        return ResponseEntity.ok(users);
+    }
+
+    /**
+     * Suggest users whose username, name or email starts with or contains the text typed so far.
+     *
+     * @return Up to {@code limit} matching users, prefix matches first
+     */
+    @Operation(summary = "Autocomplete users",
+            description = "Prefix matches on username, name words and email, then substring matches for 3+ characters, served from memory")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<UserSuggestionBO>> autocomplete(
+            @Parameter(description = "Text typed so far, case-insensitive", example = "jo")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.debug("Autocompleting '{}'", q);
+        return ResponseEntity.ok(userFacade.autocomplete(q, limit));
+    }
+
     /**
      * Fetch a user by their unique username.
      *
@@ -57,12 +142,28 @@ public class UserController {
     public ResponseEntity<UserBO> getUser(
             @Parameter(description = "Username of the user", example = "john_doe")
             @PathVariable String username) {
-        logger.info("Fetching user with username: {}", username);
+        logger.debug("Fetching user with username: {}", username);
         UserBO user = userFacade.getUserByUsername(username);
-        logger.info("User found: {}", user);
+        logger.debug("User found: {}", user.getUsername());
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Fetch many users by username in one request.
+     *
+     * @param usernames Usernames to look up, at most 1000
+     * @return Users found, in request order, and the usernames that do not exist
+     */
+    @Operation(summary = "Get users by username in bulk",
+            description = "Fetch up to 1000 users by username; usernames that do not exist are listed as missing")
+    @PostMapping("/batch")
+    public ResponseEntity<UserLookupBO> getUsers(@RequestBody List<String> usernames) {
+        logger.debug("Fetching {} users by username", usernames.size());
+        UserLookupBO result = userFacade.getUsersByUsernames(usernames);
+        logger.debug("Found {} users, {} missing", result.getUsers().size(), result.getMissing().size());
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Create a new user.
      *
@@ -72,12 +173,28 @@ public class UserController {
     @Operation(summary = "Create a new user", description = "Add a new user to the system")
     @PostMapping("/")
     public ResponseEntity<UserBO> createUser(@Valid @RequestBody UserBO user) {
-        logger.info("Creating new user: {}", user);
+        logger.debug("Creating new user: {}", user.getUsername());
         UserBO createdUser = userFacade.createUser(user);
-        logger.info("User created successfully: {}", createdUser);
+        logger.debug("User created successfully: {}", createdUser.getUsername());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    /**
+     * Create many users in one request.
+     *
+     * @param users Users to create, at most 10000
+     * @return Status of every user: CREATED, CONFLICT or INVALID
+     */
+    @Operation(summary = "Create users in bulk",
+            description = "Create up to 10000 users; each one is reported as CREATED, CONFLICT or INVALID without failing the others")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultBO> createUsers(@RequestBody List<UserBO> users) {
+        logger.debug("Creating {} users", users.size());
+        BulkResultBO result = userFacade.createUsers(users);
+        logger.debug("Bulk create finished: {}", result.getCounts());
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Update an existing user's details.
      *
@@ -87,12 +204,44 @@ public class UserController {
     @Operation(summary = "Update user details", description = "Modify an existing user's information")
     @PutMapping("/")
     public ResponseEntity<?> updateUser(@Valid @RequestBody UserBO updatedUser) {
-        logger.info("Updating user: {}", updatedUser);
+        logger.debug("Updating user: {}", updatedUser.getUsername());
         UserBO user = userFacade.updateUser(updatedUser);
-        logger.info("User updated successfully: {}", user);
+        logger.debug("User updated successfully: {}", user.getUsername());
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Update many users in one request.
+     *
+     * @param users Users to update, matched by username, at most 10000
+     * @return Status of every user: UPDATED, NOT_FOUND or INVALID
+     */
+    @Operation(summary = "Update users in bulk",
+            description = "Update up to 10000 users; each one is reported as UPDATED, NOT_FOUND or INVALID without failing the others")
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResultBO> updateUsers(@RequestBody List<UserBO> users) {
+        logger.debug("Updating {} users", users.size());
+        BulkResultBO result = userFacade.updateUsers(users);
+        logger.debug("Bulk update finished: {}", result.getCounts());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Delete many users in one request.
+     *
+     * @param usernames Usernames of the users to delete, at most 10000
+     * @return Status of every username: DELETED, NOT_FOUND or INVALID
+     */
+    @Operation(summary = "Delete users in bulk",
+            description = "Delete up to 10000 users by username; each one is reported as DELETED, NOT_FOUND or INVALID")
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResultBO> deleteUsers(@RequestBody List<String> usernames) {
+        logger.debug("Deleting {} users", usernames.size());
+        BulkResultBO result = userFacade.deleteUsers(usernames);
+        logger.debug("Bulk delete finished: {}", result.getCounts());
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Delete a user by their username.
      *
@@ -103,9 +252,9 @@ public class UserController {
     public ResponseEntity<String> deleteUser(
             @Parameter(description = "Username of the user to delete", example = "john_doe")
             @PathVariable String username) {
-        logger.info("Deleting user with username: {}", username);
+        logger.debug("Deleting user with username: {}", username);
         userFacade.deleteUser(username);
-        logger.info("User deleted successfully.");
+        logger.debug("User deleted successfully.");
         return ResponseEntity.ok("User deleted successfully.");
     }
 
@@ -126,6 +275,128 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Generate random users, persisting each fetched chunk while the next is in flight.
+     * Returns counts instead of the users, so memory does not grow with the number requested.
+     *
+     * @param number Number of users to generate
+     * @return Summary of the generation run
+     */
+    @Operation(summary = "Generate random users (pipelined)", description = "Fetch and persist random users chunk by chunk and return a summary")
+    @GetMapping("/generate/{number}/summary")
+    public ResponseEntity<GenerationSummaryBO> generateUsersPipelined(
+            @Parameter(description = "Number of random users to generate", example = "1000")
+            @PathVariable Integer number) {
+        logger.info("Generating {} random users (pipelined)", number);
+        GenerationSummaryBO summary = userFacade.generateRandomUsersPipelined(number);
+        logger.info("Generated {} users, persisted {}", summary.getFetched(), summary.getPersisted());
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Submit a background job generating random users. Returns immediately with the job id.
+     *
+     * @param number Number of users to generate
+     * @return The queued job
+     */
+    @Operation(summary = "Submit a generation job", description = "Generate random users in the background and poll the job for progress")
+    @PostMapping("/generate/jobs")
+    public ResponseEntity<GenerationJobBO> submitGenerationJob(
+            @Parameter(description = "Number of random users to generate", example = "100000")
+            @RequestParam Integer number) {
+        logger.info("Submitting generation job for {} users", number);
+        GenerationJobBO job = userFacade.submitGenerationJob(number);
+        logger.info("Generation job {} submitted", job.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Poll the progress of a generation job.
+     *
+     * @param jobId Id of the job
+     * @return The job with its current progress
+     */
+    @Operation(summary = "Get a generation job", description = "Poll the progress of a random user generation job")
+    @GetMapping("/generate/jobs/{jobId}")
+    public ResponseEntity<GenerationJobBO> getGenerationJob(
+            @Parameter(description = "Id of the generation job")
+            @PathVariable String jobId) {
+        logger.debug("Fetching generation job {}", jobId);
+        return ResponseEntity.ok(userFacade.getGenerationJob(jobId));
+    }
+
+    /**
+     * Cancel a generation job.
+     *
+     * @param jobId Id of the job
+     * @return The job
+     */
+    @Operation(summary = "Cancel a generation job", description = "Stop a queued or running random user generation job")
+    @DeleteMapping("/generate/jobs/{jobId}")
+    public ResponseEntity<GenerationJobBO> cancelGenerationJob(
+            @Parameter(description = "Id of the generation job")
+            @PathVariable String jobId) {
+        logger.info("Cancelling generation job {}", jobId);
+        return ResponseEntity.ok(userFacade.cancelGenerationJob(jobId));
+    }
+
+    /**
+     * Count users per country.
+     *
+     * @return Number of users in each country
+     */
+    @Operation(summary = "Count users by country", description = "Number of users per country, computed in the database")
+    @GetMapping("/stats/countries")
+    public ResponseEntity<List<UserCountBO>> countUsersByCountry() {
+        logger.debug("Counting users by country");
+        return ResponseEntity.ok(userFacade.countUsersByCountry());
+    }
+
+    /**
+     * Count users per state of a country.
+     *
+     * @param country Country name
+     * @return Number of users in each state of the country
+     */
+    @Operation(summary = "Count users by state", description = "Number of users per state of a country, computed in the database")
+    @GetMapping("/stats/countries/{country}/states")
+    public ResponseEntity<List<UserCountBO>> countUsersByState(
+            @Parameter(description = "Country name", example = "France")
+            @PathVariable String country) {
+        logger.debug("Counting users by state of {}", country);
+        return ResponseEntity.ok(userFacade.countUsersByState(country));
+    }
+
+    /**
+     * Count users per city of a state.
+     *
+     * @param country Country name
+     * @param state   State name
+     * @return Number of users in each city of the state
+     */
+    @Operation(summary = "Count users by city", description = "Number of users per city of a state, computed in the database")
+    @GetMapping("/stats/countries/{country}/states/{state}/cities")
+    public ResponseEntity<List<UserCountBO>> countUsersByCity(
+            @Parameter(description = "Country name", example = "France")
+            @PathVariable String country,
+            @Parameter(description = "State name", example = "Paris")
+            @PathVariable String state) {
+        logger.debug("Counting users by city of {}, {}", state, country);
+        return ResponseEntity.ok(userFacade.countUsersByCity(country, state));
+    }
+
+    /**
+     * Count users per gender.
+     *
+     * @return Number of users of each gender
+     */
+    @Operation(summary = "Count users by gender", description = "Number of users per gender, computed in the database")
+    @GetMapping("/stats/genders")
+    public ResponseEntity<List<UserCountBO>> countUsersByGender() {
+        logger.debug("Counting users by gender");
+        return ResponseEntity.ok(userFacade.countUsersByGender());
+    }
+
     /**
      * Retrieve users organized in a hierarchical tree structure.
      *
@@ -134,9 +405,38 @@ public class UserController {
     @Operation(summary = "Get user tree structure", description = "Retrieve users organized in a hierarchical tree")
     @GetMapping("/tree/")
     public ResponseEntity<Map<String, Map<String, Map<String, List<UserBO>>>>> getUserTree() {
-        logger.info("Fetching user tree structure");
+        logger.debug("Fetching user tree structure");
         Map<String, Map<String, Map<String, List<UserBO>>>> userTree = userFacade.getUserTree();
-        logger.info("User tree retrieved successfully");
+        logger.debug("User tree retrieved successfully");
         return ResponseEntity.ok(userTree);
     }
+
+    /**
+     * Stream the user tree as it is read from the database.
+     * Produces the same JSON as {@code /tree/} without holding the whole tree in memory.
+     *
+     * @return Streamed user tree structure
+     */
+    @Operation(summary = "Stream user tree structure", description = "Stream users organized in a hierarchical tree, read with a database cursor")
+    @GetMapping(value = "/tree/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserTree() {
+        logger.debug("Streaming user tree structure");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userFacade::writeUserTree);
+    }
+
+    /**
+     * Export all users as newline-delimited JSON, one user per line.
+     *
+     * @return Streamed users
+     */
+    @Operation(summary = "Export all users", description = "Stream every user as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        logger.debug("Exporting all users");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userFacade::exportUsers);
+    }
 }
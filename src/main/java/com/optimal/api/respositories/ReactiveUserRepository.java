@@ -0,0 +1,41 @@
+package com.optimal.api.respositories;
+
+import com.optimal.api.models.dtos.ReactiveUserDTO;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the users table over R2DBC.
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveCrudRepository<ReactiveUserDTO, Long> {
+    Mono<ReactiveUserDTO> findByUsername(String username);
+
+    /**
+     * Keyset page: the users whose id follows {@code lastId}, ordered by id.
+     */
+    @Query("SELECT * FROM users WHERE id > :lastId ORDER BY id LIMIT :limit")
+    Flux<ReactiveUserDTO> findUsersAfter(long lastId, int limit);
+
+    /**
+     * All users ordered by id, emitted as rows arrive.
+     */
+    Flux<ReactiveUserDTO> findAllByOrderByIdAsc();
+
+    @Modifying
+    @Query("""
+            UPDATE users SET name = :name, email = :email, gender = :gender, picture = :picture,
+                country = :country, state = :state, city = :city
+            WHERE username = :username
+            """)
+    Mono<Integer> updateByUsername(String username, String name, String email, String gender, String picture,
+                                   String country, String state, String city);
+
+    @Modifying
+    @Query("DELETE FROM users WHERE username = :username")
+    Mono<Integer> deleteByUsername(String username);
+}
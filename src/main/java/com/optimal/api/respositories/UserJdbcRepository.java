@@ -0,0 +1,155 @@
+package com.optimal.api.respositories;
+
+import com.optimal.api.models.dtos.UserDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the users table for write paths where JPA gets in the way.
+ * <p>
+ * {@link UserDTO} ids are generated by the database ({@code IDENTITY}), which makes Hibernate
+ * insert one row per round trip. The statements here are sent as JDBC batches instead.
+ * <p>
+ * Single-user writes are one statement each, matched by the unique username: the affected-row
+ * count says whether the user existed, so there is no separate lookup to race with.
+ */
+@Repository
+public class UserJdbcRepository {
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO users (username, name, email, gender, picture, country, state, city)
+            SELECT ?, ?, ?, ?, ?, ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = ?)
+            """;
+
+    private static final String UPDATE_BY_USERNAME_SQL = """
+            UPDATE users SET name = ?, email = ?, gender = ?, picture = ?, country = ?, state = ?, city = ?
+            WHERE username = ?
+            """;
+
+    private static final String DELETE_BY_USERNAME_SQL = "DELETE FROM users WHERE username = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the user unless its username exists, in a single statement.
+     *
+     * @param user User to insert
+     * @return Whether the user was inserted
+     */
+    public boolean insertIfAbsent(UserDTO user) {
+        return jdbcTemplate.update(INSERT_IF_ABSENT_SQL, user.getUsername(), user.getName(), user.getEmail(),
+                user.getGender(), user.getPicture(), user.getCountry(), user.getState(), user.getCity(),
+                user.getUsername()) != 0;
+    }
+
+    /**
+     * Updates the user with the same username, in a single statement.
+     *
+     * @param user User to update
+     * @return Whether a user with that username existed
+     */
+    public boolean updateByUsername(UserDTO user) {
+        return jdbcTemplate.update(UPDATE_BY_USERNAME_SQL, user.getName(), user.getEmail(), user.getGender(),
+                user.getPicture(), user.getCountry(), user.getState(), user.getCity(), user.getUsername()) != 0;
+    }
+
+    /**
+     * Deletes the user with the given username, in a single statement.
+     *
+     * @param username Username of the user to delete
+     * @return Whether a user with that username existed
+     */
+    public boolean deleteByUsername(String username) {
+        return jdbcTemplate.update(DELETE_BY_USERNAME_SQL, username) != 0;
+    }
+
+    /**
+     * Inserts the users as one JDBC batch in a single transaction.
+     * Users whose username already exists are skipped rather than failing the batch. A username inserted
+     * concurrently, after the {@code NOT EXISTS} check, is still rejected by the unique constraint: the batch then
+     * fails with {@link org.springframework.dao.DuplicateKeyException} and is rolled back as a whole.
+     *
+     * @param users Users to insert
+     * @return The users that were actually inserted, in input order
+     */
+    @Transactional
+    public List<UserDTO> insertIfAbsent(List<UserDTO> users) {
+        int[] insertCounts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getName());
+            ps.setString(3, user.getEmail());
+            ps.setString(4, user.getGender());
+            ps.setString(5, user.getPicture());
+            ps.setString(6, user.getCountry());
+            ps.setString(7, user.getState());
+            ps.setString(8, user.getCity());
+            ps.setString(9, user.getUsername());
+        })[0];
+
+        return affected(users, insertCounts);
+    }
+
+    /**
+     * Updates the users matched by username as one JDBC batch in a single transaction.
+     * Users whose username does not exist are skipped rather than failing the batch.
+     *
+     * @param users Users to update
+     * @return The users that were actually updated, in input order
+     */
+    @Transactional
+    public List<UserDTO> updateExisting(List<UserDTO> users) {
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_BY_USERNAME_SQL, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getName());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getGender());
+            ps.setString(4, user.getPicture());
+            ps.setString(5, user.getCountry());
+            ps.setString(6, user.getState());
+            ps.setString(7, user.getCity());
+            ps.setString(8, user.getUsername());
+        })[0];
+        return affected(users, updateCounts);
+    }
+
+    /**
+     * Deletes the users with the given usernames as one JDBC batch in a single transaction.
+     * Usernames that do not exist are skipped rather than failing the batch.
+     *
+     * @param usernames Usernames of the users to delete
+     * @return The usernames that were actually deleted, in input order
+     */
+    @Transactional
+    public List<String> deleteExisting(List<String> usernames) {
+        int[] deleteCounts = jdbcTemplate.batchUpdate(DELETE_BY_USERNAME_SQL, usernames, usernames.size(),
+                (ps, username) -> ps.setString(1, username))[0];
+        return affected(usernames, deleteCounts);
+    }
+
+    /**
+     * The rows are matched by a unique username, so each statement affects one row or none.
+     * A driver that does not report per-statement counts ({@link Statement#SUCCESS_NO_INFO}, e.g. when it
+     * rewrites batches) would make every item look written, so that fails the batch instead.
+     */
+    private static <T> List<T> affected(List<T> items, int[] counts) {
+        List<T> affected = new ArrayList<>(items.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < 0) {
+                throw new IncorrectUpdateSemanticsDataAccessException(
+                        "JDBC driver returned no row count (" + counts[i] + ") for batch item " + i);
+            }
+            if (counts[i] > 0) {
+                affected.add(items.get(i));
+            }
+        }
+        return affected;
+    }
+}
@@ -0,0 +1,78 @@
+package com.optimal.api.respositories;
+
+import com.optimal.api.models.dtos.UserDTO;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link UserJdbcRepository}.
+ * <p>
+ * The insert statement is bound once per user and sent as a single R2DBC batch, so a chunk
+ * of users costs one round trip instead of one per row.
+ */
+@Repository
+public class UserR2dbcRepository {
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO users (username, name, email, gender, picture, country, state, city)
+            SELECT $1, $2, $3, $4, $5, $6, $7, $8
+            WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = $1)
+            """;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    /**
+     * Inserts the users as one batch in a single transaction.
+     * Users whose username already exists are skipped rather than failing the batch. A username inserted
+     * concurrently, after the {@code NOT EXISTS} check, is still rejected by the unique constraint: the batch then
+     * fails with {@link org.springframework.dao.DuplicateKeyException} and is rolled back as a whole.
+     *
+     * @param users Users to insert
+     * @return The users that were actually inserted, in input order
+     */
+    public Mono<List<UserDTO>> insertIfAbsent(List<UserDTO> users) {
+        if (users.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        Flux<Long> insertCounts = databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_IF_ABSENT_SQL);
+            for (int i = 0; i < users.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bind(statement, users.get(i));
+            }
+            return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+        });
+        return Flux.fromIterable(users)
+                .zipWith(insertCounts)
+                .filter(inserted -> inserted.getT2() != 0)
+                .map(inserted -> inserted.getT1())
+                .collectList()
+                .as(transactionalOperator::transactional);
+    }
+
+    private static void bind(Statement statement, UserDTO user) {
+        String[] values = {user.getUsername(), user.getName(), user.getEmail(), user.getGender(),
+                user.getPicture(), user.getCountry(), user.getState(), user.getCity()};
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                statement.bindNull(i, String.class);
+            } else {
+                statement.bind(i, values[i]);
+            }
+        }
+    }
+}
@@ -1,20 +1,85 @@
 package com.optimal.api.respositories;
 
 
+import com.optimal.api.models.dtos.UserCountDTO;
 import com.optimal.api.models.dtos.UserDTO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserDTO, Long> {
+public interface UserRepository extends JpaRepository<UserDTO, Long>, UserSearchRepository {
     Optional<UserDTO> findByUsername(String username);
 
+    /**
+     * Users whose username is in the given collection, in one {@code where username in (...)} query.
+     * Callers keep the collection small enough for the database's bind parameter limit.
+     */
+    List<UserDTO> findByUsernameIn(Collection<String> usernames);
+
     Page<UserDTO> findAll(Pageable pageable);
 
     boolean existsByUsername(String username);
+
+    /**
+     * Keyset page: the users whose id follows {@code id}, without an offset scan or a count query.
+     */
+    List<UserDTO> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Number of users per country, read from the location index rather than the rows.
+     */
+    @Query("select new com.optimal.api.models.dtos.UserCountDTO(u.country, count(u)) from UserDTO u"
+            + " group by u.country order by u.country")
+    List<UserCountDTO> countByCountry();
+
+    /**
+     * Number of users per state of one country.
+     */
+    @Query("select new com.optimal.api.models.dtos.UserCountDTO(u.state, count(u)) from UserDTO u"
+            + " where u.country = :country group by u.state order by u.state")
+    List<UserCountDTO> countByState(String country);
+
+    /**
+     * Number of users per city of one state.
+     */
+    @Query("select new com.optimal.api.models.dtos.UserCountDTO(u.city, count(u)) from UserDTO u"
+            + " where u.country = :country and u.state = :state group by u.city order by u.city")
+    List<UserCountDTO> countByCity(String country, String state);
+
+    /**
+     * Number of users per gender.
+     */
+    @Query("select new com.optimal.api.models.dtos.UserCountDTO(u.gender, count(u)) from UserDTO u"
+            + " group by u.gender order by u.gender")
+    List<UserCountDTO> countByGender();
+
+    /**
+     * Forward-only cursor over all users ordered by id. Must be consumed inside a transaction.
+     */
+    @Query("select u from UserDTO u order by u.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<UserDTO> streamAll();
+
+    /**
+     * Forward-only cursor over all users ordered by country, state and city, so that each
+     * branch of the user tree is contiguous. Must be consumed inside a transaction.
+     */
+    @Query("select u from UserDTO u order by u.country, u.state, u.city, u.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<UserDTO> streamAllOrderByLocation();
 }
@@ -0,0 +1,23 @@
+package com.optimal.api.respositories;
+
+import com.optimal.api.models.dtos.UserSearchCriteriaDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search fragment of {@link UserRepository}, for queries whose filters and selected columns vary per call.
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Keyset page of the users matching the criteria, ordered by id, selecting only the given columns.
+     *
+     * @param criteria Filters to apply
+     * @param fields   {@link com.optimal.api.models.dtos.UserDTO} attributes to select
+     * @param lastId   Id of the last user already returned, or 0 for the first page
+     * @param limit    Maximum number of users to return
+     * @return One map per user from attribute name to value, in the order of {@code fields}, plus the {@code id}
+     */
+    List<Map<String, Object>> search(UserSearchCriteriaDTO criteria, List<String> fields, long lastId, int limit);
+}
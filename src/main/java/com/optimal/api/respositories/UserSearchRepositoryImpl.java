@@ -0,0 +1,93 @@
+package com.optimal.api.respositories;
+
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.models.dtos.UserSearchCriteriaDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the search as a Criteria tuple query, so the SQL selects only the requested columns
+ * and no {@link UserDTO} entity is instantiated or tracked by the persistence context.
+ */
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> search(UserSearchCriteriaDTO criteria, List<String> fields, long lastId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<UserDTO> user = query.from(UserDTO.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 1);
+        selections.add(user.get("id").alias("id"));
+        fields.forEach(field -> selections.add(user.get(field).alias(field)));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(user.get("id"), lastId));
+        addEquals(cb, predicates, user, "country", criteria.getCountry());
+        addEquals(cb, predicates, user, "state", criteria.getState());
+        addEquals(cb, predicates, user, "city", criteria.getCity());
+        addEquals(cb, predicates, user, "gender", criteria.getGender());
+        addPrefix(cb, predicates, user, "name", criteria.getNamePrefix());
+        addPrefix(cb, predicates, user, "email", criteria.getEmailPrefix());
+
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(user.get("id")));
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(selections.size() * 4 / 3 + 1);
+            for (Selection<?> selection : selections) {
+                row.put(selection.getAlias(), tuple.get(selection.getAlias()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static void addEquals(CriteriaBuilder cb, List<Predicate> predicates, Root<UserDTO> user,
+                                  String attribute, String value) {
+        if (value != null && !value.isBlank()) {
+            predicates.add(cb.equal(user.get(attribute), value));
+        }
+    }
+
+    private static void addPrefix(CriteriaBuilder cb, List<Predicate> predicates, Root<UserDTO> user,
+                                  String attribute, String prefix) {
+        if (prefix != null && !prefix.isBlank()) {
+            predicates.add(cb.like(cb.lower(user.get(attribute)), escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%", LIKE_ESCAPE));
+        }
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.optimal.api.services;
+
+import com.optimal.api.customExceptions.JobNotFoundException;
+import com.optimal.api.customExceptions.JobRejectedException;
+import com.optimal.api.services.generation.GenerationJob;
+import com.optimal.api.services.generation.UserGenerationPipeline;
+import com.optimal.api.services.inf.GenerationJobService;
+import com.optimal.api.settings.GenerationJobProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class GenerationJobServiceImpl implements GenerationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationJobServiceImpl.class);
+
+    @Autowired
+    private UserGenerationPipeline userGenerationPipeline;
+
+    @Autowired
+    private GenerationJobProperties properties;
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    /** Tasks of the queued jobs, so a cancelled job frees its queue slot at once. */
+    private final Map<String, Runnable> queuedTasks = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+        // Bounded workers and queue: bursts of submissions are rejected instead of piling up
+        // on Tomcat threads or the connection pool.
+        // The bound still applies on virtual threads: it protects the database, not the threads.
+        executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private ThreadFactory threadFactory() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name("generation-job-", 1).factory();
+        }
+        return new CustomizableThreadFactory("generation-job-");
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        jobs.values().forEach(GenerationJob::cancel);
+        executor.shutdownNow();
+    }
+
+    public GenerationJob submit(int number) {
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), number);
+        jobs.put(job.getId(), job);
+        Runnable task = () -> run(job);
+        queuedTasks.put(job.getId(), task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            queuedTasks.remove(job.getId());
+            jobs.remove(job.getId());
+            logger.warn("Generation job rejected, queue is full");
+            throw new JobRejectedException("Too many generation jobs, try again later", e);
+        }
+        logger.info("Generation job {} queued for {} users", job.getId(), number);
+        evictFinishedJobs();
+        return job;
+    }
+
+    public GenerationJob getJob(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException("Generation job not found: " + jobId);
+        }
+        return job;
+    }
+
+    public GenerationJob cancel(String jobId) {
+        GenerationJob job = getJob(jobId);
+        if (job.cancel()) {
+            Runnable task = queuedTasks.remove(jobId);
+            if (task != null) {
+                executor.remove(task);
+            }
+        }
+        logger.info("Generation job {} cancelled", jobId);
+        return job;
+    }
+
+    private void run(GenerationJob job) {
+        queuedTasks.remove(job.getId());
+        if (!job.start()) {
+            return;
+        }
+        logger.info("Generation job {} started", job.getId());
+        try {
+            userGenerationPipeline.run(job.getProgress()).block();
+            job.finish(null);
+        } catch (RuntimeException e) {
+            logger.error("Generation job {} failed: {}", job.getId(), e.getMessage());
+            job.finish(e);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - properties.getRetainedJobs();
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.getStatus().isFinished())
+                .sorted(Comparator.comparing(GenerationJob::getSubmittedAt))
+                .limit(excess)
+                .forEach(job -> jobs.remove(job.getId()));
+    }
+}
@@ -0,0 +1,172 @@
+package com.optimal.api.services;
+
+import com.optimal.api.customExceptions.DuplicateResourceException;
+import com.optimal.api.customExceptions.UserNotFoundException;
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.dtos.ReactiveUserDTO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.respositories.ReactiveUserRepository;
+import com.optimal.api.respositories.UserR2dbcRepository;
+import com.optimal.api.services.inf.ReactiveUserService;
+import com.optimal.api.services.metrics.UserMetrics;
+import com.optimal.api.services.metrics.UserMetrics.Outcome;
+import com.optimal.api.settings.UserIngestProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link UserServiceImpl}, over R2DBC.
+ * <p>
+ * Write events are published on the bounded-elastic scheduler: their listeners are synchronous and take the
+ * write locks of the in-memory indexes, which a rebuild holds across JDBC reads, so they must not run on the
+ * R2DBC or Netty event loop.
+ */
+@Service
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserServiceImpl.class);
+
+    @Autowired
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @Autowired
+    private UserR2dbcRepository userR2dbcRepository;
+
+    @Autowired
+    private UserIngestProperties ingestProperties;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserMetrics userMetrics;
+
+    public Flux<UserDTO> getUsersAfter(long lastId, int limit) {
+        logger.debug("Fetching {} users after id {}", limit, lastId);
+        return reactiveUserRepository.findUsersAfter(lastId, limit).map(ReactiveUserDTO::toUserDTO);
+    }
+
+    public Flux<UserDTO> getAllUsers() {
+        logger.debug("Streaming all users");
+        return reactiveUserRepository.findAllByOrderByIdAsc().map(ReactiveUserDTO::toUserDTO);
+    }
+
+    public Mono<List<UserDTO>> saveAllUsers(List<UserDTO> userDTOS) {
+        logger.info("Saving {} users to the database", userDTOS.size());
+        // Keep the first occurrence of a username; later ones would only be rejected by the database.
+        Map<String, UserDTO> uniqueUsers = new LinkedHashMap<>();
+        userDTOS.forEach(user -> uniqueUsers.putIfAbsent(user.getUsername(), user));
+        List<UserDTO> candidates = new ArrayList<>(uniqueUsers.values());
+
+        int chunkSize = ingestProperties.getChunkSize();
+        return Flux.range(0, (candidates.size() + chunkSize - 1) / chunkSize)
+                .map(chunk -> candidates.subList(chunk * chunkSize, Math.min((chunk + 1) * chunkSize, candidates.size())))
+                .concatMap(chunk -> insertChunk(chunk)
+                        .flatMap(inserted -> publish(new UsersSavedEvent(inserted)).thenReturn(inserted)))
+                .flatMapIterable(inserted -> inserted)
+                .collectList()
+                .doOnNext(savedUsers -> {
+                    userMetrics.recordSave(savedUsers.size(), userDTOS.size() - savedUsers.size());
+                    if (savedUsers.size() < userDTOS.size()) {
+                        logger.warn("Skipped {} users with duplicate usernames", userDTOS.size() - savedUsers.size());
+                    }
+                });
+    }
+
+    /**
+     * Inserts the chunk as one batch. Concurrent inserts of the same username can all pass NOT EXISTS, and the
+     * unique constraint then fails the whole batch, which is rolled back; the chunk is retried row by row so only
+     * the losers are skipped.
+     */
+    private Mono<List<UserDTO>> insertChunk(List<UserDTO> chunk) {
+        return userR2dbcRepository.insertIfAbsent(chunk)
+                .onErrorResume(DuplicateKeyException.class, e -> {
+                    logger.debug("Batch of {} users hit a concurrent duplicate, inserting them one by one", chunk.size());
+                    return Flux.fromIterable(chunk)
+                            .concatMap(user -> userR2dbcRepository.insertIfAbsent(List.of(user))
+                                    .onErrorResume(DuplicateKeyException.class, lost -> Mono.just(List.of())))
+                            .flatMapIterable(inserted -> inserted)
+                            .collectList();
+                });
+    }
+
+    public Mono<UserDTO> getUserByUsername(String username) {
+        logger.debug("Fetching user with username: {}", username);
+        return reactiveUserRepository.findByUsername(username)
+                .map(ReactiveUserDTO::toUserDTO)
+                .doOnNext(user -> userMetrics.record(Outcome.LOOKUP_FOUND))
+                .switchIfEmpty(Mono.error(() -> {
+                    userMetrics.record(Outcome.LOOKUP_NOT_FOUND);
+                    logger.debug("User not found: {}", username);
+                    return new UserNotFoundException("User not found: " + username);
+                }));
+    }
+
+    public Mono<UserDTO> createUser(UserDTO user) {
+        logger.debug("Creating new user: {}", user.getUsername());
+        return userR2dbcRepository.insertIfAbsent(List.of(user))
+                // Concurrent inserts of the same username can all pass NOT EXISTS; the unique constraint rejects the losers.
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(List.of()))
+                .filter(inserted -> !inserted.isEmpty())
+                .map(inserted -> inserted.get(0))
+                .switchIfEmpty(Mono.error(() -> {
+                    userMetrics.record(Outcome.CREATE_DUPLICATE);
+                    logger.debug("Username already exists: {}", user.getUsername());
+                    return new DuplicateResourceException("Username already exists: " + user.getUsername());
+                }))
+                .flatMap(savedUser -> {
+                    userMetrics.record(Outcome.CREATE_CREATED);
+                    return publish(new UsersSavedEvent(List.of(savedUser))).thenReturn(savedUser);
+                });
+    }
+
+    public Mono<UserDTO> updateUser(UserDTO updatedUser) {
+        logger.debug("Updating user: {}", updatedUser.getUsername());
+        return reactiveUserRepository.updateByUsername(updatedUser.getUsername(), updatedUser.getName(),
+                        updatedUser.getEmail(), updatedUser.getGender(), updatedUser.getPicture(),
+                        updatedUser.getCountry(), updatedUser.getState(), updatedUser.getCity())
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        userMetrics.record(Outcome.UPDATE_NOT_FOUND);
+                        logger.debug("User not found: {}", updatedUser.getUsername());
+                        return Mono.error(new UserNotFoundException("User not found: " + updatedUser.getUsername()));
+                    }
+                    userMetrics.record(Outcome.UPDATE_UPDATED);
+                    return publish(new UsersSavedEvent(List.of(updatedUser))).thenReturn(updatedUser);
+                });
+    }
+
+    public Mono<Void> deleteUser(String username) {
+        logger.debug("Deleting user: {}", username);
+        return reactiveUserRepository.deleteByUsername(username)
+                .flatMap(deleted -> {
+                    if (deleted == 0) {
+                        userMetrics.record(Outcome.DELETE_NOT_FOUND);
+                        logger.debug("User not found: {}", username);
+                        return Mono.error(new UserNotFoundException("User not found: " + username));
+                    }
+                    userMetrics.record(Outcome.DELETE_DELETED);
+                    logger.debug("User {} deleted successfully", username);
+                    return publish(new UsersDeletedEvent(List.of(username)));
+                });
+    }
+
+    private Mono<Void> publish(Object event) {
+        return Mono.fromRunnable(() -> eventPublisher.publishEvent(event))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
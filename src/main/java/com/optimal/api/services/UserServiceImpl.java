@@ -2,73 +2,266 @@ package com.optimal.api.services;
 
 import com.optimal.api.customExceptions.DuplicateResourceException;
 import com.optimal.api.customExceptions.UserNotFoundException;
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.dtos.UserCountDTO;
 import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.models.dtos.UserSearchCriteriaDTO;
+import com.optimal.api.respositories.UserJdbcRepository;
 import com.optimal.api.respositories.UserRepository;
 import com.optimal.api.services.inf.UserService;
+import com.optimal.api.services.metrics.UserMetrics;
+import com.optimal.api.services.metrics.UserMetrics.Outcome;
+import com.optimal.api.settings.UserIngestProperties;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "users.service", description = "User service operations")
 public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    /** Usernames per {@code IN} list: well below bind parameter limits, and few distinct statement shapes to plan. */
+    static final int MAX_IN_LIST_SIZE = 500;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Autowired
+    private UserIngestProperties ingestProperties;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserMetrics userMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public Page<UserDTO> getAllUsers(Pageable pageable) {
-        logger.info("Fetching all users with pagination: {}", pageable);
+        logger.debug("Fetching all users with pagination: {}", pageable);
         return userRepository.findAll(pageable);
     }
 
+    public List<UserDTO> getUsersAfter(long lastId, int limit) {
+        logger.debug("Fetching {} users after id {}", limit, lastId);
+        return userRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachUser(Consumer<UserDTO> action) {
+        logger.debug("Streaming all users");
+        try (Stream<UserDTO> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                entityManager.detach(user);
+                action.accept(user);
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachUserByLocation(Consumer<UserDTO> action) {
+        logger.debug("Streaming all users ordered by location");
+        try (Stream<UserDTO> users = userRepository.streamAllOrderByLocation()) {
+            users.forEach(user -> {
+                entityManager.detach(user);
+                action.accept(user);
+            });
+        }
+    }
+
+    public List<Map<String, Object>> searchUsers(UserSearchCriteriaDTO criteria, List<String> fields, long lastId, int limit) {
+        logger.debug("Searching {} users after id {} selecting {}", limit, lastId, fields);
+        return userRepository.search(criteria, fields, lastId, limit);
+    }
+
+    public List<UserCountDTO> countUsersByCountry() {
+        logger.debug("Counting users by country");
+        return userRepository.countByCountry();
+    }
+
+    public List<UserCountDTO> countUsersByState(String country) {
+        logger.debug("Counting users by state of {}", country);
+        return userRepository.countByState(country);
+    }
+
+    public List<UserCountDTO> countUsersByCity(String country, String state) {
+        logger.debug("Counting users by city of {}, {}", state, country);
+        return userRepository.countByCity(country, state);
+    }
+
+    public List<UserCountDTO> countUsersByGender() {
+        logger.debug("Counting users by gender");
+        return userRepository.countByGender();
+    }
+
     public List<UserDTO> saveAllUsers(List<UserDTO> userDTOS) {
         logger.info("Saving {} users to the database", userDTOS.size());
-        return userRepository.saveAll(userDTOS);
+        // Keep the first occurrence of a username; later ones would only be rejected by the database.
+        Map<String, UserDTO> uniqueUsers = new LinkedHashMap<>();
+        userDTOS.forEach(user -> uniqueUsers.putIfAbsent(user.getUsername(), user));
+        List<UserDTO> candidates = new ArrayList<>(uniqueUsers.values());
+
+        List<UserDTO> savedUsers = new ArrayList<>(candidates.size());
+        forEachChunk(candidates, chunk -> {
+            List<UserDTO> inserted = insertChunk(chunk);
+            eventPublisher.publishEvent(new UsersSavedEvent(inserted));
+            savedUsers.addAll(inserted);
+        });
+        userMetrics.recordSave(savedUsers.size(), userDTOS.size() - savedUsers.size());
+        if (savedUsers.size() < userDTOS.size()) {
+            logger.warn("Skipped {} users with duplicate usernames", userDTOS.size() - savedUsers.size());
+        }
+        return savedUsers;
+    }
+
+    /**
+     * Inserts the chunk as one batch. Concurrent inserts of the same username can all pass NOT EXISTS, and the
+     * unique constraint then fails the whole batch, which is rolled back; the chunk is retried row by row so only
+     * the losers are skipped.
+     */
+    private List<UserDTO> insertChunk(List<UserDTO> chunk) {
+        try {
+            return userJdbcRepository.insertIfAbsent(chunk);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Batch of {} users hit a concurrent duplicate, inserting them one by one", chunk.size());
+        }
+        List<UserDTO> inserted = new ArrayList<>(chunk.size());
+        for (UserDTO user : chunk) {
+            try {
+                if (userJdbcRepository.insertIfAbsent(user)) {
+                    inserted.add(user);
+                }
+            } catch (DuplicateKeyException e) {
+                // Lost the race for this username
+            }
+        }
+        return inserted;
+    }
+
+    public List<UserDTO> updateAllUsers(List<UserDTO> userDTOS) {
+        logger.info("Updating {} users in the database", userDTOS.size());
+        List<UserDTO> updatedUsers = new ArrayList<>(userDTOS.size());
+        forEachChunk(userDTOS, chunk -> {
+            List<UserDTO> updated = userJdbcRepository.updateExisting(chunk);
+            eventPublisher.publishEvent(new UsersSavedEvent(updated));
+            updatedUsers.addAll(updated);
+        });
+        userMetrics.record(Outcome.UPDATE_UPDATED, updatedUsers.size());
+        userMetrics.record(Outcome.UPDATE_NOT_FOUND, userDTOS.size() - updatedUsers.size());
+        return updatedUsers;
+    }
+
+    public List<String> deleteAllUsers(List<String> usernames) {
+        logger.info("Deleting {} users from the database", usernames.size());
+        List<String> deletedUsernames = new ArrayList<>(usernames.size());
+        forEachChunk(usernames, chunk -> {
+            List<String> deleted = userJdbcRepository.deleteExisting(chunk);
+            eventPublisher.publishEvent(new UsersDeletedEvent(deleted));
+            deletedUsernames.addAll(deleted);
+        });
+        userMetrics.record(Outcome.DELETE_DELETED, deletedUsernames.size());
+        userMetrics.record(Outcome.DELETE_NOT_FOUND, usernames.size() - deletedUsernames.size());
+        return deletedUsernames;
+    }
+
+    private <T> void forEachChunk(List<T> items, Consumer<List<T>> action) {
+        int chunkSize = ingestProperties.getChunkSize();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            action.accept(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
     }
 
     public UserDTO getUserByUsername(String username) {
-        logger.info("Fetching user with username: {}", username);
-        return userRepository.findByUsername(username)
+        logger.debug("Fetching user with username: {}", username);
+        UserDTO user = userRepository.findByUsername(username)
                 .orElseThrow(() -> {
-                    logger.warn("User not found: {}", username);
+                    userMetrics.record(Outcome.LOOKUP_NOT_FOUND);
+                    logger.debug("User not found: {}", username);
                     return new UserNotFoundException("User not found: " + username);
                 });
+        userMetrics.record(Outcome.LOOKUP_FOUND);
+        return user;
+    }
+
+    public List<UserDTO> getUsersByUsernames(Collection<String> usernames) {
+        List<String> distinctUsernames = new ArrayList<>(new LinkedHashSet<>(usernames));
+        logger.debug("Fetching {} users by username", distinctUsernames.size());
+        List<UserDTO> users = new ArrayList<>(distinctUsernames.size());
+        for (int from = 0; from < distinctUsernames.size(); from += MAX_IN_LIST_SIZE) {
+            users.addAll(userRepository.findByUsernameIn(
+                    distinctUsernames.subList(from, Math.min(from + MAX_IN_LIST_SIZE, distinctUsernames.size()))));
+        }
+        userMetrics.record(Outcome.LOOKUP_FOUND, users.size());
+        userMetrics.record(Outcome.LOOKUP_NOT_FOUND, distinctUsernames.size() - users.size());
+        return users;
     }
 
     public UserDTO createUser(UserDTO user) {
-        logger.info("Creating new user: {}", user.getUsername());
-        if (userRepository.existsByUsername(user.getUsername())) {
-            logger.warn("Username already exists: {}", user.getUsername());
+        logger.debug("Creating new user: {}", user.getUsername());
+        boolean inserted;
+        try {
+            inserted = userJdbcRepository.insertIfAbsent(user);
+        } catch (DuplicateKeyException e) {
+            // Concurrent inserts of the same username can all pass NOT EXISTS; the unique constraint rejects the losers.
+            inserted = false;
+        }
+        if (!inserted) {
+            userMetrics.record(Outcome.CREATE_DUPLICATE);
+            logger.debug("Username already exists: {}", user.getUsername());
             throw new DuplicateResourceException("Username already exists: " + user.getUsername());
         }
-        return userRepository.save(user);
+        userMetrics.record(Outcome.CREATE_CREATED);
+        eventPublisher.publishEvent(new UsersSavedEvent(List.of(user)));
+        return user;
     }
 
     public UserDTO updateUser(UserDTO updatedUser) {
-        logger.info("Updating user: {}", updatedUser.getUsername());
-        if (!userRepository.existsByUsername(updatedUser.getUsername())) {
-            logger.warn("User not found: {}", updatedUser.getUsername());
+        logger.debug("Updating user: {}", updatedUser.getUsername());
+        if (!userJdbcRepository.updateByUsername(updatedUser)) {
+            userMetrics.record(Outcome.UPDATE_NOT_FOUND);
+            logger.debug("User not found: {}", updatedUser.getUsername());
             throw new UserNotFoundException("User not found: " + updatedUser.getUsername());
         }
-        return userRepository.save(updatedUser);
+        userMetrics.record(Outcome.UPDATE_UPDATED);
+        eventPublisher.publishEvent(new UsersSavedEvent(List.of(updatedUser)));
+        return updatedUser;
     }
 
     public void deleteUser(String username) {
-        logger.info("Deleting user: {}", username);
-        Optional<UserDTO> userDTO = userRepository.findByUsername(username);
-        userDTO.ifPresentOrElse(user -> {
-            userRepository.delete(user);
-            logger.info("User {} deleted successfully", username);
-        }, () -> {
-            logger.warn("User not found: {}", username);
+        logger.debug("Deleting user: {}", username);
+        if (!userJdbcRepository.deleteByUsername(username)) {
+            userMetrics.record(Outcome.DELETE_NOT_FOUND);
+            logger.debug("User not found: {}", username);
             throw new UserNotFoundException("User not found: " + username);
-        });
+        }
+        userMetrics.record(Outcome.DELETE_DELETED);
+        eventPublisher.publishEvent(new UsersDeletedEvent(List.of(username)));
+        logger.debug("User {} deleted successfully", username);
     }
 }
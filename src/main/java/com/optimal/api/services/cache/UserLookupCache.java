@@ -0,0 +1,146 @@
+package com.optimal.api.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.optimal.api.customExceptions.UserNotFoundException;
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.settings.UserCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of ready-to-serve users keyed by username.
+ * <p>
+ * Eviction is size based (W-TinyLFU) with a time-to-live per entry. Usernames that do not
+ * exist are cached as well, with a shorter time-to-live, so repeated lookups of missing users
+ * do not reach the database. Entries are invalidated from {@link UsersSavedEvent} and
+ * {@link UsersDeletedEvent}. Hit, miss and eviction counts are published as
+ * {@code cache.*} meters tagged {@code cache=users.byUsername}.
+ */
+@Component
+public class UserLookupCache {
+
+    static final String CACHE_NAME = "users.byUsername";
+
+    private final Cache<String, Optional<UserBO>> cache;
+    /** Number of invalidations started, so that batch loads overlapping one do not cache what they read. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserLookupCache(UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new FoundOrMissingExpiry(properties.getTtl(), properties.getNegativeTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached user, loading it on a miss.
+     *
+     * @param username Username to look up
+     * @param loader   Loads the user; throws {@link UserNotFoundException} when it does not exist
+     * @return The user
+     * @throws UserNotFoundException if the user does not exist, whether known from the cache or the loader
+     */
+    public UserBO get(String username, Function<String, UserBO> loader) {
+        return cache.get(username, key -> {
+                    try {
+                        return Optional.of(loader.apply(key));
+                    } catch (UserNotFoundException e) {
+                        return Optional.empty();
+                    }
+                })
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+    }
+
+    /**
+     * Returns the cached users among {@code usernames}, loading all misses with a single call.
+     * Usernames the loader does not return are cached as missing, like in {@link #get}.
+     * <p>
+     * The batch load runs outside of the cache, so an invalidation can happen while it reads. Loaded users are
+     * cached only if no invalidation started since the load began; otherwise they are returned but not cached,
+     * so a user saved or deleted during the load is not served stale until its entry expires.
+     *
+     * @param usernames Usernames to look up
+     * @param loader    Loads the users with the given usernames, keyed by username; leaves out those that do not exist
+     * @return The users that exist, keyed by username
+     */
+    public Map<String, UserBO> getAll(Collection<String> usernames, Function<Set<String>, Map<String, UserBO>> loader) {
+        Map<String, Optional<UserBO>> present = cache.getAllPresent(usernames);
+        Map<String, UserBO> found = new HashMap<>(usernames.size() * 4 / 3 + 1);
+        present.forEach((username, user) -> user.ifPresent(value -> found.put(username, value)));
+
+        Set<String> misses = new HashSet<>(usernames.size() * 4 / 3 + 1);
+        for (String username : usernames) {
+            if (!present.containsKey(username)) {
+                misses.add(username);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        long invalidationsBeforeLoad = invalidations.get();
+        Map<String, UserBO> loaded = loader.apply(Collections.unmodifiableSet(misses));
+        for (String username : misses) {
+            Optional<UserBO> user = Optional.ofNullable(loaded.get(username));
+            user.ifPresent(value -> found.put(username, value));
+            // Checked under the entry's lock: an invalidation either sees this entry and removes it,
+            // or has already been counted and the entry is not stored
+            cache.asMap().compute(username, (key, current) -> current == null
+                    && invalidations.get() == invalidationsBeforeLoad ? user : current);
+        }
+        return found;
+    }
+
+    public void invalidate(Iterable<String> usernames) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(usernames);
+    }
+
+    @EventListener
+    public void onUsersSaved(UsersSavedEvent event) {
+        invalidate(event.getUsers().stream().map(UserDTO::getUsername).toList());
+    }
+
+    @EventListener
+    public void onUsersDeleted(UsersDeletedEvent event) {
+        invalidate(event.getUsernames());
+    }
+
+    private record FoundOrMissingExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, Optional<UserBO>> {
+
+        @Override
+        public long expireAfterCreate(String key, Optional<UserBO> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<UserBO> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<UserBO> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.optimal.api.services.external;
+
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.external.inf.RandomUserGenerator;
+import com.optimal.api.services.metrics.UserMetrics;
+import com.optimal.api.services.metrics.UserMetrics.Outcome;
+import com.optimal.api.settings.RandomUserProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves random users from a pool fetched ahead of time, so that requests do not wait on the random user API.
+ * <p>
+ * Requests take what they need from the pool and only call the API, through {@link RandomUserGeneratorImpl},
+ * for the users the pool cannot provide. Whenever fewer than {@code lowWaterMark} users are left, a single
+ * background refill streams users from the API in chunks until the pool is back to its {@code capacity}.
+ * A failed refill is not retried before {@code retryDelay}, so an unavailable API is not called on every request.
+ * <p>
+ * Every pooled user is handed out once, like a user fetched for the request itself.
+ */
+@Primary
+@Service
+@ConditionalOnExpression("'${random-user.source:api}' == 'api' and ${random-user.prefetch.enabled:false}")
+public class PrefetchingRandomUserGenerator implements RandomUserGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrefetchingRandomUserGenerator.class);
+
+    private final RandomUserGenerator delegate;
+    private final RandomUserProperties.Prefetch properties;
+    private final UserMetrics userMetrics;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<UserDTO> pool;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private volatile long nextRefillNanos = System.nanoTime();
+
+    public PrefetchingRandomUserGenerator(RandomUserGeneratorImpl delegate, RandomUserProperties properties,
+                                          UserMetrics userMetrics) {
+        this.delegate = delegate;
+        this.properties = properties.getPrefetch();
+        this.userMetrics = userMetrics;
+        this.pool = new ArrayDeque<>(this.properties.getCapacity());
+        userMetrics.monitorPrefetchPoolSize(this::size);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pool.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void fill() {
+        refillIfLow();
+    }
+
+    @Override
+    public List<UserDTO> getRandomUsers(int number) {
+        if (number < 1) {
+            throw new IllegalArgumentException("Number of users must be positive: " + number);
+        }
+        List<UserDTO> users = take(number);
+        if (users.size() == number) {
+            return users;
+        }
+        try {
+            users.addAll(delegate.getRandomUsers(number - users.size()));
+        } catch (RuntimeException e) {
+            giveBack(users);
+            throw e;
+        }
+        return users;
+    }
+
+    /**
+     * Emits the pooled users as a first chunk, followed by the chunks fetched from the API for the rest.
+     * The pooled users go back to the pool if the stream fails or is cancelled before emitting them.
+     */
+    @Override
+    public Flux<List<UserDTO>> streamRandomUsers(int number) {
+        if (number < 1) {
+            throw new IllegalArgumentException("Number of users must be positive: " + number);
+        }
+        return Flux.defer(() -> {
+            List<UserDTO> users = take(number);
+            if (users.size() == number) {
+                return Flux.just(users);
+            }
+            Flux<List<UserDTO>> rest = Flux.defer(() -> delegate.streamRandomUsers(number - users.size()));
+            if (users.isEmpty()) {
+                return rest;
+            }
+            AtomicBoolean emitted = new AtomicBoolean();
+            return Flux.just(users)
+                    .doOnNext(pooled -> emitted.set(true))
+                    .concatWith(rest)
+                    .doFinally(signal -> {
+                        if (!emitted.get()) {
+                            giveBack(users);
+                        }
+                    });
+        });
+    }
+
+    private List<UserDTO> take(int number) {
+        List<UserDTO> users;
+        lock.lock();
+        try {
+            int taken = Math.min(number, pool.size());
+            users = new ArrayList<>(number);
+            for (int i = 0; i < taken; i++) {
+                users.add(pool.pollFirst());
+            }
+        } finally {
+            lock.unlock();
+        }
+        userMetrics.record(Outcome.PREFETCH_HIT, users.size());
+        userMetrics.record(Outcome.PREFETCH_MISS, number - users.size());
+        refillIfLow();
+        return users;
+    }
+
+    /** Puts users taken for a request that failed back at the head of the pool. */
+    private void giveBack(List<UserDTO> users) {
+        lock.lock();
+        try {
+            for (int i = users.size() - 1; i >= 0 && pool.size() < properties.getCapacity(); i--) {
+                pool.addFirst(users.get(i));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void offer(List<UserDTO> users) {
+        lock.lock();
+        try {
+            for (int i = 0; i < users.size() && pool.size() < properties.getCapacity(); i++) {
+                pool.addLast(users.get(i));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refillIfLow() {
+        int size = size();
+        if (size >= properties.getLowWaterMark()
+                || System.nanoTime() - nextRefillNanos < 0
+                || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        int missing = properties.getCapacity() - size;
+        logger.debug("Refilling random user pool with {} users", missing);
+        // Deferred so that a call failing on assembly still ends the refill through doFinally
+        Flux.defer(() -> delegate.streamRandomUsers(missing))
+                .doFinally(signal -> refilling.set(false))
+                .subscribe(this::offer, e -> {
+                    nextRefillNanos = System.nanoTime() + properties.getRetryDelay().toNanos();
+                    logger.warn("Refilling random user pool failed, next attempt in {}: {}",
+                            properties.getRetryDelay(), e.getMessage());
+                });
+    }
+}
@@ -1,65 +1,279 @@
 package com.optimal.api.services.external;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.optimal.api.customExceptions.RandomUserServiceException;
+import com.optimal.api.customExceptions.UpstreamUnavailableException;
 import com.optimal.api.models.dtos.UserDTO;
 import com.optimal.api.services.external.inf.RandomUserGenerator;
 import com.optimal.api.services.external.model.RandomUserResponse;
+import com.optimal.api.services.metrics.UserMetrics;
+import com.optimal.api.services.metrics.UserMetrics.Outcome;
+import com.optimal.api.settings.RandomUserProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+/**
+ * Fetches users from the random user API.
+ * <p>
+ * Every call goes through the {@value #RESILIENCE_INSTANCE} bulkhead, which bounds the calls in flight across all
+ * requests, and circuit breaker, which fails calls fast while the API keeps failing; both are configured under
+ * {@code resilience4j.*} and exposed by the actuator. The timeout of a call follows the recent latency of the API,
+ * and a call still running past the usual latency is hedged with a second, identical one.
+ * <p>
+ * Responses are decoded as they stream in: each element of {@code results} becomes a {@link UserDTO} as soon
+ * as it is parsed, without buffering the whole body. Connections come from the pool configured in
+ * {@link com.optimal.api.settings.HttpClientConfig}.
+ */
 @Service
+@ConditionalOnProperty(prefix = "random-user", name = "source", havingValue = "api", matchIfMissing = true)
 public class RandomUserGeneratorImpl implements RandomUserGenerator {
 
-    private static final int TIME_OUT_IN_SECONDS = 5;
     private static final Logger logger = LoggerFactory.getLogger(RandomUserGeneratorImpl.class);
-    private final WebClient webClient = WebClient.create("https://randomuser.me/api/");
+    static final String RESILIENCE_INSTANCE = "randomUser";
+
+    private final WebClient webClient;
+    private final RandomUserProperties properties;
+    private final UserMetrics userMetrics;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final UpstreamLatency latency;
+    private final RandomUserResultsDecoder decoder;
+
+    /**
+     * @param webClientBuilder Boot's builder, which already records {@code http.client.requests} for every call
+     *                         and uses the shared connection pool
+     */
+    public RandomUserGeneratorImpl(WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
+                                   RandomUserProperties properties, UserMetrics userMetrics,
+                                   CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.webClient = webClientBuilder
+                .baseUrl(properties.getBaseUrl())
+                .filter(ExchangeFilterFunction.ofResponseProcessor(response -> {
+                    response.headers().contentLength().ifPresent(userMetrics::recordUpstreamBytes);
+                    return Mono.just(response);
+                }))
+                .build();
+        this.properties = properties;
+        this.userMetrics = userMetrics;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE);
+        this.latency = new UpstreamLatency(properties.getLatencyWindow(), properties.getLatencyMinSamples());
+        this.decoder = new RandomUserResultsDecoder(objectMapper);
+        userMetrics.monitorUpstreamTimeout(this::timeout);
+    }
 
     @Override
     public List<UserDTO> getRandomUsers(int number) {
         logger.info("Requesting {} random users from external API", number);
 
-        try {
-            RandomUserResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder.queryParam("results", number).build())
-                    .retrieve()
-                    .bodyToMono(RandomUserResponse.class)
-                    .timeout(Duration.ofSeconds(TIME_OUT_IN_SECONDS))
-                    .doOnSuccess(res -> logger.info("Successfully fetched {} users from API", res.getResults().size()))
-                    .doOnError(e -> logger.error("Error fetching random users: {}", e.getMessage()))
-                    .onErrorMap(Exception.class, ex -> new RandomUserServiceException("Failed to fetch random users", ex))
-                    .block();
-
-            if (response == null || response.getResults() == null) {
-                logger.warn("Received empty response from API");
-                throw new RandomUserServiceException("Empty response from Random User API");
-            }
-
-            List<UserDTO> users = response.getResults().stream().map(result -> {
-                UserDTO user = UserDTO.builder()
-                        .username(result.getLogin().getUsername())
-                        .name(result.getName().getFirst() + " " + result.getName().getLast())
-                        .email(result.getEmail())
-                        .gender(result.getGender())
-                        .picture(result.getPicture().getLarge())
-                        .state(result.getLocation().getState())
-                        .city(result.getLocation().getCity())
-                        .country(result.getLocation().getCountry())
-                        .build();
-                logger.debug("Generated UserDTO: {}", user);
-                return user;
-            }).collect(Collectors.toList());
-
-            logger.info("Successfully converted API response into {} UserDTO objects", users.size());
-            return users;
-        } catch (RandomUserServiceException e) {
-            logger.error("Random user generation failed: {}", e.getMessage());
-            throw e;
+        List<UserDTO> users = streamRandomUsers(number)
+                .flatMapIterable(chunk -> chunk)
+                .collect(Collectors.toCollection(() -> new ArrayList<>(number)))
+                .block();
+
+        if (users == null || users.isEmpty()) {
+            logger.warn("Received no users from API");
+            throw new RandomUserServiceException("Empty response from Random User API");
+        }
+        if (users.size() < number) {
+            logger.warn("Returning partial result: {} of {} users", users.size(), number);
+        }
+        logger.info("Successfully converted API response into {} UserDTO objects", users.size());
+        return users;
+    }
+
+    /**
+     * Splits the request into calls of at most {@code chunkSize} users and runs up to
+     * {@code concurrency} of them at once. Chunks are emitted in completion order.
+     * <p>
+     * With partial results allowed, a failed chunk is emitted empty, unless every chunk failed: the request then
+     * fails with the first error, as it would without partial results.
+     */
+    @Override
+    public Flux<List<UserDTO>> streamRandomUsers(int number) {
+        if (number < 1) {
+            throw new IllegalArgumentException("Number of users must be positive: " + number);
+        }
+        int chunkSize = properties.getChunkSize();
+        Flux<Integer> chunkSizes = Flux.range(0, (number + chunkSize - 1) / chunkSize)
+                .map(chunk -> Math.min(chunkSize, number - chunk * chunkSize));
+        if (!properties.isAllowPartialResults()) {
+            return chunkSizes.flatMap(size -> fetchChunk(size).onErrorMap(RandomUserGeneratorImpl::translate),
+                    properties.getConcurrency());
+        }
+        return Flux.defer(() -> {
+            AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+            AtomicBoolean anyFetched = new AtomicBoolean();
+            return chunkSizes
+                    .flatMap(size -> fetchChunk(size)
+                            .doOnNext(users -> anyFetched.set(true))
+                            .onErrorResume(e -> {
+                                firstFailure.compareAndSet(null, e);
+                                return Mono.just(List.of());
+                            }), properties.getConcurrency())
+                    .concatWith(Mono.defer(() -> anyFetched.get() || firstFailure.get() == null
+                            ? Mono.empty()
+                            : Mono.error(translate(firstFailure.get()))));
+        });
+    }
+
+    private static Throwable translate(Throwable e) {
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+            return new UpstreamUnavailableException("Random user API unavailable: " + e.getMessage(), e);
+        }
+        if (!(e instanceof RandomUserServiceException)) {
+            return new RandomUserServiceException("Failed to fetch random users", e);
+        }
+        return e;
+    }
+
+    private Mono<List<UserDTO>> fetchChunk(int size) {
+        return Mono.defer(() -> hedged(size))
+                .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff())
+                        .filter(RandomUserGeneratorImpl::isTransient)
+                        .doBeforeRetry(signal -> logger.warn("Retrying random user call (attempt {}): {}",
+                                signal.totalRetries() + 1, signal.failure().getMessage())))
+                .doOnSuccess(users -> {
+                    userMetrics.record(Outcome.UPSTREAM_SUCCESS);
+                    userMetrics.recordUpstreamResponse(users.size());
+                    logger.debug("Fetched chunk of {} users from API", users.size());
+                })
+                .doOnError(e -> {
+                    userMetrics.record(Outcome.UPSTREAM_FAILURE);
+                    logger.error("Error fetching random users: {}", e.getMessage());
+                });
+    }
+
+    /**
+     * Calls the API and, if the call is still running after the hedging delay, calls it a second time; the first
+     * response wins and the other call is cancelled. Users are random, so either response will do.
+     * <p>
+     * The outcome of the first call is final as soon as it fails, so a call refused by the circuit breaker fails
+     * at once instead of waiting for the hedge; a failed hedge just leaves the first call running.
+     * <p>
+     * A first call cancelled because the hedge won still records how long it ran, so the slow calls that get
+     * hedged stay in the latency window instead of only the fast hedges replacing them.
+     */
+    private Mono<List<UserDTO>> hedged(int size) {
+        long delayNanos = hedgingDelayNanos();
+        if (delayNanos < 0) {
+            return call(size, true);
+        }
+        Mono<List<UserDTO>> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                .then(Mono.defer(() -> {
+                    userMetrics.record(Outcome.UPSTREAM_HEDGED);
+                    return call(size, false);
+                }))
+                .onErrorResume(e -> Mono.never());
+        return Mono.firstWithSignal(call(size, true), hedge);
+    }
+
+    /**
+     * One API call, inside the bulkhead and then the circuit breaker, so a call rejected by either
+     * never reaches the network, and rejections by the bulkhead are not counted as API failures.
+     *
+     * @param recordCancelled Whether a cancelled call records the time it ran as its latency, a lower bound like
+     *                        the timeout; a hedge cancelled because the first call won started late and does not
+     */
+    private Mono<List<UserDTO>> call(int size, boolean recordCancelled) {
+        return Mono.defer(() -> {
+                    Duration timeout = timeout();
+                    long start = System.nanoTime();
+                    return webClient.get()
+                            .uri(uriBuilder -> uriBuilder.queryParam("results", size).build())
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class)
+                            .transform(decoder::decode)
+                            .map(this::toUser)
+                            .<List<UserDTO>>collect(() -> new ArrayList<>(size), List::add)
+                            .timeout(timeout)
+                            .doOnSuccess(users -> latency.record(System.nanoTime() - start))
+                            // A timed-out call took at least the timeout: counting it lets the timeout grow
+                            // back when the API slows down, instead of timing out every call.
+                            .doOnError(TimeoutException.class, e -> latency.record(timeout.toNanos()))
+                            .doOnCancel(() -> {
+                                if (recordCancelled) {
+                                    latency.record(System.nanoTime() - start);
+                                }
+                            });
+                })
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    /**
+     * @return The configured timeout, or a multiple of the recent latency percentile when the adaptive
+     * timeout is enabled and enough calls were observed, within the minimum and the configured timeout
+     */
+    Duration timeout() {
+        RandomUserProperties.AdaptiveTimeout adaptive = properties.getAdaptiveTimeout();
+        long percentile = adaptive.isEnabled() ? latency.percentile(adaptive.getPercentile()) : -1;
+        if (percentile < 0) {
+            return properties.getTimeout();
+        }
+        long nanos = (long) (percentile * adaptive.getMultiplier());
+        return Duration.ofNanos(Math.min(properties.getTimeout().toNanos(),
+                Math.max(adaptive.getMinTimeout().toNanos(), nanos)));
+    }
+
+    /**
+     * @return The delay before hedging a call, or -1 when hedging is disabled or not enough calls were observed
+     */
+    private long hedgingDelayNanos() {
+        RandomUserProperties.Hedging hedging = properties.getHedging();
+        long percentile = hedging.isEnabled() ? latency.percentile(hedging.getPercentile()) : -1;
+        return percentile < 0 ? -1 : Math.max(hedging.getMinDelay().toNanos(), percentile);
+    }
+
+    private UserDTO toUser(RandomUserResponse.Result result) {
+        UserDTO user = UserDTO.builder()
+                .username(result.getLogin().getUsername())
+                .name(result.getName().getFirst() + " " + result.getName().getLast())
+                .email(result.getEmail())
+                .gender(result.getGender())
+                .picture(result.getPicture().getLarge())
+                .state(result.getLocation().getState())
+                .city(result.getLocation().getCity())
+                .country(result.getLocation().getCountry())
+                .build();
+        logger.debug("Generated UserDTO: {}", user);
+        return user;
+    }
+
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == 429;
         }
+        return e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || e instanceof BulkheadFullException
+                || e instanceof RandomUserServiceException;
     }
 }
@@ -0,0 +1,192 @@
+package com.optimal.api.services.external;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.optimal.api.customExceptions.RandomUserServiceException;
+import com.optimal.api.services.external.model.RandomUserResponse;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decodes the {@code results} array of a random user API response element by element, as the body arrives.
+ * <p>
+ * Body buffers are fed to Jackson's non-blocking parser and released at once. Only the tokens of the result
+ * being read are buffered, so memory stays bounded by one result instead of the whole response, and mapping
+ * starts with the first result. Everything outside {@code results} (such as {@code info}) is skipped, and so
+ * are the fields of a result that {@link RandomUserResponse} does not bind (hashes, coordinates, ids...).
+ */
+public class RandomUserResultsDecoder {
+
+    private static final String RESULTS_FIELD = "results";
+    private static final Set<String> BOUND_FIELDS = boundFields();
+
+    private final ObjectMapper objectMapper;
+
+    public RandomUserResultsDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param body Response body
+     * @return The results, in order; fails with {@link RandomUserServiceException} when the body has no
+     * {@code results} array, and with {@link DecodingException} when it is not valid JSON
+     */
+    public Flux<RandomUserResponse.Result> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            ResultsParser parser = new ResultsParser();
+            return body.concatMapIterable(parser::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(parser.endOfInput())))
+                    // Buffers still queued when the call is cancelled (timeout, hedge lost) must be released too
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doFinally(signal -> parser.close());
+        });
+    }
+
+    /** @return The names of the properties of the result types, at any nesting level */
+    private static Set<String> boundFields() {
+        Set<String> names = new HashSet<>();
+        for (Class<?> type : RandomUserResponse.class.getDeclaredClasses()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    names.add(field.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Parsing state of one response. Not thread-safe: buffers of one body are fed in order, one at a time.
+     */
+    private final class ResultsParser {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        /** Reused for every buffer: the parser has consumed the previous input before the next one is fed. */
+        private byte[] input = new byte[0];
+        private int depth;
+        private int skippedFieldDepth = -1;
+        private boolean resultsFieldNext;
+        private boolean inResults;
+        private boolean resultsSeen;
+        private TokenBuffer element;
+
+        ResultsParser() {
+            try {
+                parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new DecodingException("Cannot create JSON parser", e);
+            }
+            feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<RandomUserResponse.Result> feed(DataBuffer buffer) {
+            try {
+                int length = buffer.readableByteCount();
+                if (input.length < length) {
+                    input = new byte[length];
+                }
+                buffer.read(input, 0, length);
+                feeder.feedInput(input, 0, length);
+                return parse();
+            } catch (IOException e) {
+                throw new DecodingException("Invalid random user API response: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<RandomUserResponse.Result> endOfInput() {
+            feeder.endOfInput();
+            List<RandomUserResponse.Result> results;
+            try {
+                results = parse();
+            } catch (IOException e) {
+                throw new DecodingException("Invalid random user API response: " + e.getMessage(), e);
+            }
+            if (!resultsSeen) {
+                throw new RandomUserServiceException("Empty response from Random User API");
+            }
+            return results;
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+
+        /** @return The results completed by the input fed so far */
+        private List<RandomUserResponse.Result> parse() throws IOException {
+            List<RandomUserResponse.Result> results = List.of();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (skippedFieldDepth >= 0) {
+                    skip(token);
+                    continue;
+                }
+                if (element != null) {
+                    if (token == JsonToken.FIELD_NAME && !BOUND_FIELDS.contains(parser.currentName())) {
+                        skippedFieldDepth = depth;
+                        continue;
+                    }
+                    element.copyCurrentEvent(parser);
+                }
+                if (token.isStructStart()) {
+                    depth++;
+                    if (resultsFieldNext && token == JsonToken.START_ARRAY) {
+                        inResults = true;
+                        resultsSeen = true;
+                    } else if (inResults && depth == 3 && token == JsonToken.START_OBJECT) {
+                        element = new TokenBuffer(parser);
+                        element.copyCurrentEvent(parser);
+                    }
+                    resultsFieldNext = false;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                    if (element != null && depth == 2) {
+                        if (results.isEmpty()) {
+                            results = new ArrayList<>();
+                        }
+                        results.add(objectMapper.readValue(element.asParser(objectMapper),
+                                RandomUserResponse.Result.class));
+                        element = null;
+                    } else if (inResults && depth == 1) {
+                        inResults = false;
+                    }
+                } else {
+                    resultsFieldNext = depth == 1 && token == JsonToken.FIELD_NAME
+                            && RESULTS_FIELD.equals(parser.currentName());
+                }
+            }
+            return results;
+        }
+
+        /** Drops the value of an unbound field: a scalar, or everything up to the end of the object or array. */
+        private void skip(JsonToken token) {
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == skippedFieldDepth) {
+                skippedFieldDepth = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.optimal.api.services.external;
+
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.external.inf.RandomUserGenerator;
+import com.optimal.api.settings.RandomUserProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Makes up users locally instead of calling the random user API, for offline use and load tests.
+ * <p>
+ * Users are numbered in the order they are handed out since startup, and user {@code n} depends only on
+ * {@code n} and the configured seed: the same seed always produces the same sequence, whichever threads
+ * generate it. The number is the suffix of the username, which makes every username unique within one run.
+ * Numbering restarts with every process, so against a database that outlives it, a second run produces the
+ * same usernames again and they are skipped as duplicates.
+ * <p>
+ * Countries are drawn with roughly population-proportional weights, and states and cities within them
+ * with decreasing, Zipf-like weights, so a few places hold most users as with real data.
+ * Large requests are generated as a parallel stream over the range of user numbers.
+ */
+@Service
+@ConditionalOnProperty(prefix = "random-user", name = "source", havingValue = "synthetic")
+public class SyntheticUserGeneratorImpl implements RandomUserGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticUserGeneratorImpl.class);
+
+    /** Below this, splitting the work across threads costs more than it saves. */
+    private static final int PARALLEL_THRESHOLD = 10_000;
+    /** Usernames are at most 10 letters followed by the user number, and must fit in 20 characters. */
+    private static final long MAX_USERS = 10_000_000_000L;
+
+    private static final String[] MALE_FIRST_NAMES = {
+            "James", "John", "Robert", "Michael", "William", "David", "Lucas", "Mateo", "Liam", "Noah",
+            "Oliver", "Leon", "Hugo", "Louis", "Pablo", "Daniel", "Thomas", "Ethan", "Jack", "Gabriel"};
+    private static final String[] FEMALE_FIRST_NAMES = {
+            "Mary", "Patricia", "Jennifer", "Linda", "Emma", "Olivia", "Sophia", "Mia", "Charlotte", "Amelia",
+            "Lucia", "Maria", "Julia", "Chloe", "Lea", "Hannah", "Sofia", "Ava", "Isabella", "Alice"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Martin", "Bernard", "Dubois", "Muller", "Schmidt",
+            "Schneider", "Fischer", "Silva", "Santos", "Oliveira", "Taylor", "Thomas", "Moore", "Jackson", "White"};
+    private static final String[] ADJECTIVES = {
+            "blue", "red", "green", "silver", "golden", "lazy", "happy", "brave", "tiny", "quiet",
+            "crazy", "calm", "heavy", "purple", "orange", "wild", "big", "small", "bold", "lucky"};
+    private static final String[] ANIMALS = {
+            "cat", "dog", "fox", "owl", "bear", "wolf", "swan", "frog", "lion", "duck",
+            "bird", "fish", "goat", "crab", "moth", "hawk", "seal", "deer", "mole", "toad"};
+
+    private static final String[] MALE_FIRST_NAMES_LOWER = lowerCase(MALE_FIRST_NAMES);
+    private static final String[] FEMALE_FIRST_NAMES_LOWER = lowerCase(FEMALE_FIRST_NAMES);
+    private static final String[] LAST_NAMES_LOWER = lowerCase(LAST_NAMES);
+
+    private static final Country[] COUNTRIES = {
+            country("United States", 33,
+                    "California: Los Angeles, San Diego, San Jose, San Francisco, Sacramento",
+                    "Texas: Houston, San Antonio, Dallas, Austin, Fort Worth",
+                    "Florida: Jacksonville, Miami, Tampa, Orlando",
+                    "New York: New York City, Buffalo, Rochester, Yonkers",
+                    "Illinois: Chicago, Aurora, Naperville, Springfield",
+                    "Washington: Seattle, Spokane, Tacoma"),
+            country("Brazil", 21,
+                    "São Paulo: São Paulo, Guarulhos, Campinas, Santos",
+                    "Minas Gerais: Belo Horizonte, Uberlândia, Contagem",
+                    "Rio de Janeiro: Rio de Janeiro, São Gonçalo, Niterói",
+                    "Bahia: Salvador, Feira de Santana, Vitória da Conquista"),
+            country("Mexico", 13,
+                    "Ciudad de México: Iztapalapa, Gustavo A. Madero, Coyoacán",
+                    "Jalisco: Guadalajara, Zapopan, Tlaquepaque",
+                    "Nuevo León: Monterrey, Guadalupe, Apodaca",
+                    "Puebla: Puebla, Tehuacán, San Martín Texmelucan"),
+            country("Germany", 8,
+                    "Nordrhein-Westfalen: Köln, Düsseldorf, Dortmund, Essen",
+                    "Bayern: München, Nürnberg, Augsburg, Regensburg",
+                    "Baden-Württemberg: Stuttgart, Mannheim, Karlsruhe, Freiburg",
+                    "Berlin: Berlin",
+                    "Hamburg: Hamburg"),
+            country("United Kingdom", 7,
+                    "England: London, Birmingham, Manchester, Liverpool, Leeds",
+                    "Scotland: Glasgow, Edinburgh, Aberdeen",
+                    "Wales: Cardiff, Swansea, Newport",
+                    "Northern Ireland: Belfast, Derry"),
+            country("France", 7,
+                    "Île-de-France: Paris, Boulogne-Billancourt, Saint-Denis, Versailles",
+                    "Auvergne-Rhône-Alpes: Lyon, Grenoble, Saint-Étienne, Clermont-Ferrand",
+                    "Provence-Alpes-Côte d'Azur: Marseille, Nice, Toulon, Aix-en-Provence",
+                    "Occitanie: Toulouse, Montpellier, Nîmes",
+                    "Nouvelle-Aquitaine: Bordeaux, Limoges, Poitiers"),
+            country("Spain", 5,
+                    "Madrid: Madrid, Móstoles, Alcalá de Henares",
+                    "Cataluña: Barcelona, L'Hospitalet de Llobregat, Badalona, Girona",
+                    "Andalucía: Sevilla, Málaga, Córdoba, Granada",
+                    "Comunidad Valenciana: Valencia, Alicante, Elche"),
+            country("Canada", 4,
+                    "Ontario: Toronto, Ottawa, Mississauga, Hamilton",
+                    "Quebec: Montreal, Quebec City, Laval",
+                    "British Columbia: Vancouver, Surrey, Victoria",
+                    "Alberta: Calgary, Edmonton"),
+            country("Australia", 3,
+                    "New South Wales: Sydney, Newcastle, Wollongong",
+                    "Victoria: Melbourne, Geelong, Ballarat",
+                    "Queensland: Brisbane, Gold Coast, Cairns",
+                    "Western Australia: Perth, Mandurah"),
+            country("Netherlands", 2,
+                    "Noord-Holland: Amsterdam, Haarlem, Zaanstad",
+                    "Zuid-Holland: Rotterdam, Den Haag, Leiden",
+                    "Utrecht: Utrecht, Amersfoort"),
+            country("Switzerland", 1,
+                    "Zürich: Zürich, Winterthur",
+                    "Genève: Genève, Vernier",
+                    "Bern: Bern, Biel/Bienne")
+    };
+    private static final int[] COUNTRY_WEIGHTS = cumulative(Arrays.stream(COUNTRIES).mapToInt(Country::weight).toArray());
+
+    private final RandomUserProperties properties;
+    private final AtomicLong nextUser = new AtomicLong();
+
+    public SyntheticUserGeneratorImpl(RandomUserProperties properties) {
+        this.properties = properties;
+        logger.info("Generating synthetic users locally with seed {}", properties.getSyntheticSeed());
+    }
+
+    @Override
+    public List<UserDTO> getRandomUsers(int number) {
+        long first = reserve(number);
+        return generate(first, number);
+    }
+
+    /**
+     * Emits chunks of {@code chunkSize} users in order, generating up to {@code concurrency} of them at once.
+     */
+    @Override
+    public Flux<List<UserDTO>> streamRandomUsers(int number) {
+        long first = reserve(number);
+        int chunkSize = properties.getChunkSize();
+        return Flux.range(0, (number + chunkSize - 1) / chunkSize)
+                .flatMapSequential(chunk -> Mono.fromCallable(() -> generate(first + (long) chunk * chunkSize,
+                                Math.min(chunkSize, number - chunk * chunkSize)))
+                        .subscribeOn(Schedulers.parallel()), properties.getConcurrency());
+    }
+
+    private long reserve(int number) {
+        if (number < 1) {
+            throw new IllegalArgumentException("Number of users must be positive: " + number);
+        }
+        long first = nextUser.getAndAdd(number);
+        if (first + number > MAX_USERS) {
+            throw new IllegalStateException("Synthetic user numbers exhausted");
+        }
+        return first;
+    }
+
+    private List<UserDTO> generate(long first, int count) {
+        if (count < PARALLEL_THRESHOLD) {
+            List<UserDTO> users = new ArrayList<>(count);
+            for (long n = first; n < first + count; n++) {
+                users.add(user(n));
+            }
+            return users;
+        }
+        // A sized range splits evenly and lets toArray write each user straight into its slot.
+        return Arrays.asList(LongStream.range(first, first + count)
+                .parallel()
+                .mapToObj(this::user)
+                .toArray(UserDTO[]::new));
+    }
+
+    UserDTO user(long n) {
+        SplittableRandom random = new SplittableRandom(mix(properties.getSyntheticSeed() + n * 0x9E3779B97F4A7C15L));
+        boolean male = random.nextBoolean();
+        int firstName = random.nextInt(MALE_FIRST_NAMES.length);
+        int lastName = random.nextInt(LAST_NAMES.length);
+        Country country = COUNTRIES[pick(COUNTRY_WEIGHTS, random)];
+        int state = pick(country.stateWeights(), random);
+        int city = pick(country.cityWeights()[state], random);
+
+        String first = male ? MALE_FIRST_NAMES[firstName] : FEMALE_FIRST_NAMES[firstName];
+        String firstLower = male ? MALE_FIRST_NAMES_LOWER[firstName] : FEMALE_FIRST_NAMES_LOWER[firstName];
+        return UserDTO.builder()
+                .username(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + ANIMALS[random.nextInt(ANIMALS.length)] + n)
+                .name(first + " " + LAST_NAMES[lastName])
+                .email(firstLower + "." + LAST_NAMES_LOWER[lastName] + n + "@example.com")
+                .gender(male ? "Male" : "Female")
+                .picture((male ? "https://randomuser.me/api/portraits/men/" : "https://randomuser.me/api/portraits/women/")
+                        + random.nextInt(100) + ".jpg")
+                .country(country.name())
+                .state(country.states()[state])
+                .city(country.cities()[state][city])
+                .build();
+    }
+
+    /** Stafford variant 13 of the 64-bit finalizer, as used by {@link SplittableRandom} itself. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int pick(int[] cumulativeWeights, SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= value) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int[] cumulative(int[] weights) {
+        int[] cumulative = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    /** Weights proportional to 1 / rank, for places listed from the largest. */
+    private static int[] zipf(int count) {
+        int[] weights = new int[count];
+        for (int rank = 0; rank < count; rank++) {
+            weights[rank] = 60 / (rank + 1);
+        }
+        return cumulative(weights);
+    }
+
+    private static String[] lowerCase(String[] values) {
+        return Arrays.stream(values).map(value -> value.toLowerCase(Locale.ROOT)).toArray(String[]::new);
+    }
+
+    /**
+     * @param states One {@code "State: City, City"} entry per state, largest states and cities first
+     */
+    private static Country country(String name, int weight, String... states) {
+        String[] stateNames = new String[states.length];
+        String[][] cities = new String[states.length][];
+        int[][] cityWeights = new int[states.length][];
+        for (int i = 0; i < states.length; i++) {
+            String[] parts = states[i].split(": ", 2);
+            stateNames[i] = parts[0];
+            cities[i] = parts[1].split(", ");
+            cityWeights[i] = zipf(cities[i].length);
+        }
+        return new Country(name, weight, stateNames, cities, zipf(states.length), cityWeights);
+    }
+
+    private record Country(String name, int weight, String[] states, String[][] cities,
+                           int[] stateWeights, int[][] cityWeights) {
+    }
+}
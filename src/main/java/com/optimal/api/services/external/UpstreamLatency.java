@@ -0,0 +1,54 @@
+package com.optimal.api.services.external;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durations of the latest calls to the random user API, kept in a ring buffer of fixed size.
+ * <p>
+ * Percentiles are computed on demand by sorting a copy of the window, which takes a few microseconds
+ * for a few hundred samples, negligible next to the call being timed.
+ */
+class UpstreamLatency {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int count;
+
+    UpstreamLatency(int window, int minSamples) {
+        this.samples = new long[window];
+        this.minSamples = minSamples;
+    }
+
+    void record(long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.99
+     * @return The quantile of the window in nanoseconds, or -1 while fewer than {@code minSamples} calls were recorded
+     */
+    long percentile(double quantile) {
+        long[] window;
+        lock.lock();
+        try {
+            if (count < minSamples || count == 0) {
+                return -1;
+            }
+            window = Arrays.copyOf(samples, count);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(window);
+        return window[Math.min(window.length - 1, (int) Math.ceil(quantile * window.length) - 1)];
+    }
+}
@@ -1,6 +1,8 @@
 package com.optimal.api.services.external.inf;
 
 import com.optimal.api.models.dtos.UserDTO;
+import reactor.core.publisher.Flux;
+
 import java.util.List;
 
 /**
@@ -18,4 +20,14 @@ public interface RandomUserGenerator {
      * @throws IllegalArgumentException if the number is invalid (e.g., negative or zero).
      */
     List<UserDTO> getRandomUsers(int number);
+
+    /**
+     * Fetches a specified number of random users as a stream of chunks,
+     * each emitted as soon as it is available and only as fast as it is requested.
+     *
+     * @param number The number of random users to generate or fetch.
+     * @return A stream of {@link UserDTO} chunks whose sizes add up to at most {@code number}.
+     * @throws IllegalArgumentException if the number is invalid (e.g., negative or zero).
+     */
+    Flux<List<UserDTO>> streamRandomUsers(int number);
 }
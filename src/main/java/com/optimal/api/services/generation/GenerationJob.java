@@ -0,0 +1,62 @@
+package com.optimal.api.services.generation;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * A random user generation run submitted to the background executor.
+ */
+@Getter
+public class GenerationJob {
+
+    private final String id;
+    private final Instant submittedAt = Instant.now();
+    private final GenerationProgress progress;
+    private volatile GenerationJobStatus status = GenerationJobStatus.QUEUED;
+    private volatile String error;
+
+    public GenerationJob(String id, int requested) {
+        this.id = id;
+        this.progress = new GenerationProgress(requested);
+    }
+
+    /**
+     * @return {@code false} if the job was cancelled while queued and must not run
+     */
+    public synchronized boolean start() {
+        if (status != GenerationJobStatus.QUEUED) {
+            return false;
+        }
+        status = GenerationJobStatus.RUNNING;
+        progress.markStarted();
+        return true;
+    }
+
+    public synchronized void finish(Throwable failure) {
+        if (failure != null) {
+            status = GenerationJobStatus.FAILED;
+            error = failure.getMessage();
+        } else {
+            status = progress.isCancelled() ? GenerationJobStatus.CANCELLED : GenerationJobStatus.COMPLETED;
+        }
+    }
+
+    /**
+     * Cancels a queued or running job. A job that is already finished is left as it is, report included.
+     *
+     * @return {@code true} if the job was still queued: it is finished at once and will never run
+     */
+    public synchronized boolean cancel() {
+        if (status != GenerationJobStatus.QUEUED && status != GenerationJobStatus.RUNNING) {
+            return false;
+        }
+        progress.cancel();
+        if (status != GenerationJobStatus.QUEUED) {
+            return false;
+        }
+        status = GenerationJobStatus.CANCELLED;
+        progress.markFinished();
+        return true;
+    }
+}
@@ -0,0 +1,123 @@
+package com.optimal.api.services.generation;
+
+import lombok.Getter;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of one random user generation run. Safe to read while the run is in progress.
+ * Also carries the cancellation signal of the run.
+ */
+public class GenerationProgress {
+
+    @Getter
+    private final int requested;
+    private volatile long startedNanos;
+    private final AtomicLong fetched = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final Sinks.Empty<Void> cancellation = Sinks.empty();
+    private volatile long finishedNanos;
+    private volatile boolean cancelled;
+
+    public GenerationProgress(int requested) {
+        this.requested = requested;
+    }
+
+    void recordFetched(int count) {
+        fetched.addAndGet(count);
+    }
+
+    void recordPersisted(int count) {
+        persisted.addAndGet(count);
+    }
+
+    /**
+     * Starts the clock of the run. Time spent waiting before that, e.g. queued as a job, is not counted.
+     * Only the first call counts.
+     */
+    synchronized void markStarted() {
+        if (startedNanos == 0) {
+            startedNanos = System.nanoTime();
+        }
+    }
+
+    synchronized void markFinished() {
+        markStarted();
+        finishedNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops fetching further users. The chunk currently being persisted is still written.
+     * Does nothing once the run is finished, so its counts stay final.
+     */
+    public synchronized void cancel() {
+        if (isFinished()) {
+            return;
+        }
+        cancelled = true;
+        cancellation.tryEmitEmpty();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    Mono<Void> cancellation() {
+        return cancellation.asMono();
+    }
+
+    public long getFetched() {
+        return fetched.get();
+    }
+
+    public long getPersisted() {
+        return persisted.get();
+    }
+
+    /**
+     * @return Users that were fetched but not persisted because their username already existed
+     */
+    public long getSkipped() {
+        return fetched.get() - persisted.get();
+    }
+
+    /**
+     * @return Users that were requested but could not be fetched, unless the run was cancelled;
+     * only final once the run is finished
+     */
+    public long getFailed() {
+        return cancelled ? 0 : requested - fetched.get();
+    }
+
+    /**
+     * @return Users that were not fetched because the run was cancelled; only final once the run is finished
+     */
+    public long getCancelled() {
+        return cancelled ? requested - fetched.get() : 0;
+    }
+
+    public boolean isFinished() {
+        return finishedNanos != 0;
+    }
+
+    /**
+     * @return Time since the run started, 0 while it has not
+     */
+    public long getElapsedMillis() {
+        if (startedNanos == 0) {
+            return 0;
+        }
+        long end = isFinished() ? finishedNanos : System.nanoTime();
+        return (end - startedNanos) / 1_000_000;
+    }
+
+    /**
+     * @return Persisted users per second since the run started
+     */
+    public double getThroughput() {
+        long elapsedMillis = getElapsedMillis();
+        return elapsedMillis == 0 ? 0 : persisted.get() * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,82 @@
+package com.optimal.api.services.generation;
+
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.external.inf.RandomUserGenerator;
+import com.optimal.api.services.inf.ReactiveUserService;
+import com.optimal.api.services.inf.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Fetches random users and persists them chunk by chunk.
+ * <p>
+ * A chunk is written as soon as it arrives while the next ones are still being fetched.
+ * {@code concatMap} requests one chunk at a time from the fetch stage, so when the database
+ * is slower than the upstream API the fetch stage stops pulling and at most a few chunks are
+ * held in memory, whatever the requested number of users.
+ */
+@Component
+public class UserGenerationPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserGenerationPipeline.class);
+
+    @Autowired
+    private RandomUserGenerator randomUserGenerator;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReactiveUserService reactiveUserService;
+
+    /**
+     * @param progress Counters updated as chunks are fetched and persisted
+     * @return Completes with the same progress once every chunk has been persisted
+     */
+    public Mono<GenerationProgress> run(GenerationProgress progress) {
+        logger.info("Starting pipelined generation of {} users", progress.getRequested());
+        return run(progress, chunk -> Mono.fromCallable(() -> userService.saveAllUsers(chunk))
+                .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Same as {@link #run(GenerationProgress)}, but persists over R2DBC so no thread is
+     * blocked while waiting on either the upstream API or the database.
+     *
+     * @param progress Counters updated as chunks are fetched and persisted
+     * @return Completes with the same progress once every chunk has been persisted
+     */
+    public Mono<GenerationProgress> runNonBlocking(GenerationProgress progress) {
+        logger.info("Starting non-blocking generation of {} users", progress.getRequested());
+        return run(progress, reactiveUserService::saveAllUsers);
+    }
+
+    private Mono<GenerationProgress> run(GenerationProgress progress, Function<List<UserDTO>, Mono<List<UserDTO>>> save) {
+        return randomUserGenerator.streamRandomUsers(progress.getRequested())
+                .doOnSubscribe(subscription -> progress.markStarted())
+                // Cancelling completes the fetch stage, so the chunk being written is not interrupted.
+                .takeUntilOther(progress.cancellation())
+                .doOnNext(chunk -> progress.recordFetched(chunk.size()))
+                // On an upstream error let the chunk being written finish, so the counters match the database.
+                .concatMapDelayError(save, false, 1)
+                .doOnNext(saved -> progress.recordPersisted(saved.size()))
+                // Not doFinally: that runs after the subscriber has seen the outcome, which would let
+                // callers read the progress before it is marked finished.
+                .doOnTerminate(() -> finish(progress))
+                .doOnCancel(() -> finish(progress))
+                .then(Mono.just(progress));
+    }
+
+    private static void finish(GenerationProgress progress) {
+        progress.markFinished();
+        logger.info("Pipelined generation ended: {} fetched, {} persisted in {} ms",
+                progress.getFetched(), progress.getPersisted(), progress.getElapsedMillis());
+    }
+}
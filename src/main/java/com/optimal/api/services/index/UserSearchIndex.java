@@ -0,0 +1,366 @@
+package com.optimal.api.services.index;
+
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.bo.UserSuggestionBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.models.dtos.UserSearchCriteriaDTO;
+import com.optimal.api.respositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory autocomplete index over the username, name and email of all users.
+ * <p>
+ * Two inverted indexes map to users, each user being a dense int document id:
+ * <ul>
+ *   <li>a sorted term dictionary (username, email, full name and each word of the name), answering
+ *   prefix queries with one range scan;</li>
+ *   <li>a trigram index, answering substring queries of three characters or more by intersecting
+ *   the posting lists of the query's trigrams and checking the few remaining candidates.</li>
+ * </ul>
+ * Posting lists are sorted {@code int} arrays. Document ids are never reused, so adding a user only
+ * appends; removing or replacing a user just marks its document dead, and the index is compacted
+ * in memory once dead documents outnumber live ones.
+ * <p>
+ * The index is loaded when the application is ready and afterwards kept up to date from
+ * {@link UsersSavedEvent} and {@link UsersDeletedEvent}. Reads share a read lock; writes, which are
+ * batched per event, take the write lock.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final int MIN_DEAD_DOCS_TO_COMPACT = 1024;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment(1024);
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveDocs();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} users whose username, name or email matches the query, case-insensitively.
+     * Prefix matches of a term come first, in term order; substring matches follow for queries of three
+     * characters or more.
+     *
+     * @param query Text typed so far
+     * @param limit Maximum number of suggestions
+     * @return Matching users, best first
+     */
+    public List<UserSuggestionBO> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return segment.suggest(normalized, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            logger.info("Rebuilding user search index");
+            Segment rebuilt = new Segment(REBUILD_PAGE_SIZE);
+            UserSearchCriteriaDTO everyone = UserSearchCriteriaDTO.builder().build();
+            List<String> fields = List.of("username", "name", "email");
+            long lastId = 0;
+            List<Map<String, Object>> page;
+            do {
+                page = userRepository.search(everyone, fields, lastId, REBUILD_PAGE_SIZE);
+                for (Map<String, Object> row : page) {
+                    rebuilt.add((String) row.get("username"), (String) row.get("name"), (String) row.get("email"));
+                    lastId = (Long) row.get("id");
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            segment = rebuilt;
+            logger.info("User search index rebuilt with {} users", rebuilt.liveDocs());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onUsersSaved(UsersSavedEvent event) {
+        addOrReplace(event.getUsers());
+    }
+
+    @EventListener
+    public void onUsersDeleted(UsersDeletedEvent event) {
+        removeAll(event.getUsernames());
+    }
+
+    public void addOrReplace(Collection<UserDTO> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            users.forEach(user -> segment.add(user.getUsername(), user.getName(), user.getEmail()));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            usernames.forEach(segment::remove);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactIfNeeded() {
+        int dead = segment.deadDocs();
+        if (dead >= MIN_DEAD_DOCS_TO_COMPACT && dead > segment.liveDocs()) {
+            segment = segment.compact();
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The index data proper. Not thread-safe: guarded by the lock of the enclosing index.
+     */
+    private static final class Segment {
+
+        private String[] usernames;
+        private String[] names;
+        private String[] emails;
+        private int nextDoc;
+        private final BitSet dead = new BitSet();
+        private final Map<String, Integer> docByUsername = new HashMap<>();
+        private final TreeMap<String, PostingList> terms = new TreeMap<>();
+        private final Map<Long, PostingList> trigrams = new HashMap<>();
+
+        Segment(int capacity) {
+            usernames = new String[capacity];
+            names = new String[capacity];
+            emails = new String[capacity];
+        }
+
+        int liveDocs() {
+            return docByUsername.size();
+        }
+
+        int deadDocs() {
+            return nextDoc - docByUsername.size();
+        }
+
+        void add(String username, String name, String email) {
+            remove(username);
+            if (nextDoc == usernames.length) {
+                int capacity = usernames.length * 2;
+                usernames = Arrays.copyOf(usernames, capacity);
+                names = Arrays.copyOf(names, capacity);
+                emails = Arrays.copyOf(emails, capacity);
+            }
+            int doc = nextDoc++;
+            usernames[doc] = username;
+            names[doc] = name;
+            emails[doc] = email;
+            docByUsername.put(username, doc);
+
+            String normalizedUsername = normalize(username);
+            String normalizedName = normalize(name);
+            String normalizedEmail = normalize(email);
+            addTerm(normalizedUsername, doc);
+            addTerm(normalizedEmail, doc);
+            addTerm(normalizedName, doc);
+            for (String word : normalizedName.split("[^\\p{L}\\p{N}]+")) {
+                addTerm(word, doc);
+            }
+            addTrigrams(normalizedUsername, doc);
+            addTrigrams(normalizedName, doc);
+            addTrigrams(normalizedEmail, doc);
+        }
+
+        void remove(String username) {
+            Integer doc = docByUsername.remove(username);
+            if (doc != null) {
+                dead.set(doc);
+            }
+        }
+
+        Segment compact() {
+            Segment compacted = new Segment(Math.max(1024, liveDocs() * 2));
+            for (int doc = 0; doc < nextDoc; doc++) {
+                if (!dead.get(doc)) {
+                    compacted.add(usernames[doc], names[doc], emails[doc]);
+                }
+            }
+            return compacted;
+        }
+
+        List<UserSuggestionBO> suggest(String query, int limit) {
+            Set<Integer> matches = new LinkedHashSet<>(limit * 2);
+            for (Map.Entry<String, PostingList> term : terms.tailMap(query, true).entrySet()) {
+                if (!term.getKey().startsWith(query) || !collect(term.getValue(), matches, limit)) {
+                    break;
+                }
+            }
+            if (matches.size() < limit && query.length() >= 3) {
+                collectSubstringMatches(query, matches, limit);
+            }
+            List<UserSuggestionBO> suggestions = new ArrayList<>(matches.size());
+            for (int doc : matches) {
+                suggestions.add(new UserSuggestionBO(usernames[doc], names[doc], emails[doc]));
+            }
+            return suggestions;
+        }
+
+        /** @return whether more matches are wanted */
+        private boolean collect(PostingList postings, Set<Integer> matches, int limit) {
+            for (int i = 0; i < postings.size; i++) {
+                int doc = postings.docs[i];
+                if (!dead.get(doc) && matches.add(doc) && matches.size() == limit) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void collectSubstringMatches(String query, Set<Integer> matches, int limit) {
+            List<PostingList> lists = new ArrayList<>(query.length() - 2);
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                PostingList postings = trigrams.get(trigram(query, i));
+                if (postings == null) {
+                    return;
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+            // One cursor per list: candidates come in increasing order, so every cursor only moves forward.
+            int[] cursors = new int[lists.size()];
+            PostingList shortest = lists.get(0);
+            for (int i = 0; i < shortest.size && matches.size() < limit; i++) {
+                int doc = shortest.docs[i];
+                if (dead.get(doc) || matches.contains(doc) || !inAll(lists, cursors, doc)) {
+                    continue;
+                }
+                // Sharing all trigrams does not imply containing the query: confirm on the text itself.
+                if (containsIgnoreCase(usernames[doc], query) || containsIgnoreCase(names[doc], query)
+                        || containsIgnoreCase(emails[doc], query)) {
+                    matches.add(doc);
+                }
+            }
+        }
+
+        private static boolean inAll(List<PostingList> lists, int[] cursors, int doc) {
+            for (int i = 1; i < lists.size(); i++) {
+                PostingList postings = lists.get(i);
+                int position = postings.advance(cursors[i], doc);
+                cursors[i] = position;
+                if (position == postings.size || postings.docs[position] != doc) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean containsIgnoreCase(String value, String normalizedQuery) {
+            if (value == null) {
+                return false;
+            }
+            for (int offset = 0; offset + normalizedQuery.length() <= value.length(); offset++) {
+                if (value.regionMatches(true, offset, normalizedQuery, 0, normalizedQuery.length())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void addTerm(String term, int doc) {
+            if (!term.isEmpty()) {
+                terms.computeIfAbsent(term, key -> new PostingList()).add(doc);
+            }
+        }
+
+        private void addTrigrams(String value, int doc) {
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                trigrams.computeIfAbsent(trigram(value, i), key -> new PostingList()).add(doc);
+            }
+        }
+
+        private static long trigram(String value, int offset) {
+            return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+        }
+    }
+
+    /**
+     * Growable, ascending array of document ids. Documents are added in increasing order, so adding is an append.
+     */
+    private static final class PostingList {
+
+        private int[] docs = new int[2];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return; // the same term or trigram occurs twice in one user
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        /**
+         * Galloping search: the first position at or after {@code from} holding a document {@code >= doc},
+         * or {@code size} if there is none.
+         */
+        int advance(int from, int doc) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && docs[high] < doc) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(docs, low, Math.min(high + 1, size), doc);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
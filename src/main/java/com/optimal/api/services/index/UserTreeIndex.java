@@ -0,0 +1,215 @@
+package com.optimal.api.services.index;
+
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.respositories.UserRepository;
+import com.optimal.api.services.metrics.UserMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory country → state → city index of all users.
+ * <p>
+ * The index is loaded once when the application is ready and afterwards kept up to date
+ * from {@link UsersSavedEvent} and {@link UsersDeletedEvent}, so serving the user tree
+ * needs neither a table scan nor a regrouping of the users.
+ * <p>
+ * Reads are lock-free: the maps are concurrent and every city holds an immutable list
+ * that is replaced (never mutated) on write. Writes are serialised by a {@link ReentrantLock}
+ * rather than {@code synchronized}, because the rebuild holds it across JDBC calls and a
+ * monitor would pin the carrier thread when running on virtual threads.
+ */
+@Component
+public class UserTreeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTreeIndex.class);
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserMetrics userMetrics;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Map<String, Map<String, Map<String, List<UserBO>>>> tree = new ConcurrentHashMap<>();
+    private volatile Map<String, UserBO> usersByUsername = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the live tree. Callers must treat it as read-only.
+     *
+     * @return Users grouped by country, state and city
+     */
+    public Map<String, Map<String, Map<String, List<UserBO>>>> getTree() {
+        return tree;
+    }
+
+    public int size() {
+        return usersByUsername.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        logger.info("Rebuilding user tree index");
+        long startedNanos = System.nanoTime();
+        Map<String, Map<String, Map<String, List<UserBO>>>> newTree = new ConcurrentHashMap<>();
+        Map<String, UserBO> newUsersByUsername = new ConcurrentHashMap<>();
+
+        Page<UserDTO> page;
+        int pageNumber = 0;
+        do {
+            page = userRepository.findAll(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE, Sort.by("id")));
+            for (UserDTO dto : page) {
+                UserBO user = dto.toBO();
+                newUsersByUsername.put(user.getUsername(), user);
+                cityOf(newTree, user).add(user);
+            }
+        } while (page.hasNext());
+
+        // Freeze the city lists built above so they can be shared with readers.
+        newTree.values().forEach(states -> states.values().forEach(cities ->
+                cities.replaceAll((city, users) -> List.copyOf(users))));
+
+        this.tree = newTree;
+        this.usersByUsername = newUsersByUsername;
+        userMetrics.recordTreeRebuild(newUsersByUsername.size(), System.nanoTime() - startedNanos);
+        userMetrics.monitorTreeSize(this::size);
+        logger.info("User tree index rebuilt with {} users", newUsersByUsername.size());
+    }
+
+    @EventListener
+    public void onUsersSaved(UsersSavedEvent event) {
+        addOrReplace(event.getUsers());
+    }
+
+    @EventListener
+    public void onUsersDeleted(UsersDeletedEvent event) {
+        removeAll(event.getUsernames());
+    }
+
+    public void addOrReplace(Collection<UserDTO> users) {
+        writeLock.lock();
+        try {
+            addOrReplaceLocked(users);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void addOrReplaceLocked(Collection<UserDTO> users) {
+        Map<List<String>, Set<String>> removals = new HashMap<>();
+        Map<List<String>, List<UserBO>> additions = new HashMap<>();
+        for (UserDTO dto : users) {
+            UserBO user = dto.toBO();
+            UserBO previous = usersByUsername.put(user.getUsername(), user);
+            if (previous != null) {
+                removals.computeIfAbsent(pathOf(previous), path -> new HashSet<>()).add(previous.getUsername());
+            }
+            additions.computeIfAbsent(pathOf(user), path -> new ArrayList<>()).add(user);
+        }
+        detachAll(removals);
+        additions.forEach((path, added) -> tree
+                .computeIfAbsent(path.get(0), country -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path.get(1), state -> new ConcurrentHashMap<>())
+                .merge(path.get(2), List.copyOf(added), UserTreeIndex::concat));
+    }
+
+    public void removeAll(Collection<String> usernames) {
+        writeLock.lock();
+        try {
+            Map<List<String>, Set<String>> removals = new HashMap<>();
+            for (String username : usernames) {
+                UserBO previous = usersByUsername.remove(username);
+                if (previous != null) {
+                    removals.computeIfAbsent(pathOf(previous), path -> new HashSet<>()).add(username);
+                }
+            }
+            detachAll(removals);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes users from their cities, rebuilding each affected city list once.
+     *
+     * @param removals Usernames to remove, grouped by country, state and city path
+     */
+    private void detachAll(Map<List<String>, Set<String>> removals) {
+        removals.forEach((path, usernames) -> {
+            Map<String, Map<String, List<UserBO>>> states = tree.get(path.get(0));
+            if (states == null) {
+                return;
+            }
+            Map<String, List<UserBO>> cities = states.get(path.get(1));
+            if (cities == null) {
+                return;
+            }
+            cities.computeIfPresent(path.get(2), (city, existing) -> {
+                List<UserBO> remaining = new ArrayList<>(existing.size());
+                for (UserBO user : existing) {
+                    if (!usernames.contains(user.getUsername())) {
+                        remaining.add(user);
+                    }
+                }
+                return remaining.isEmpty() ? null : List.copyOf(remaining);
+            });
+            if (cities.isEmpty()) {
+                states.remove(path.get(1));
+            }
+            if (states.isEmpty()) {
+                tree.remove(path.get(0));
+            }
+        });
+    }
+
+    private static List<UserBO> cityOf(Map<String, Map<String, Map<String, List<UserBO>>>> tree, UserBO user) {
+        return tree.computeIfAbsent(key(user.getCountry()), country -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key(user.getState()), state -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key(user.getCity()), city -> new ArrayList<>());
+    }
+
+    private static List<String> pathOf(UserBO user) {
+        return List.of(key(user.getCountry()), key(user.getState()), key(user.getCity()));
+    }
+
+    private static List<UserBO> concat(List<UserBO> existing, List<UserBO> added) {
+        List<UserBO> merged = new ArrayList<>(existing.size() + added.size());
+        merged.addAll(existing);
+        merged.addAll(added);
+        return List.copyOf(merged);
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value;
+    }
+}
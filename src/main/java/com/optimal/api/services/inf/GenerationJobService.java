@@ -0,0 +1,31 @@
+package com.optimal.api.services.inf;
+
+import com.optimal.api.services.generation.GenerationJob;
+
+public interface GenerationJobService {
+    /**
+     * Queues a job fetching and persisting random users in the background.
+     *
+     * @param number Number of users to generate
+     * @return The queued job
+     * @throws com.optimal.api.customExceptions.JobRejectedException if the job queue is full
+     */
+    GenerationJob submit(int number);
+
+    /**
+     * Retrieves a job by its id.
+     *
+     * @param jobId Id returned on submission
+     * @return The job with its current progress
+     */
+    GenerationJob getJob(String jobId);
+
+    /**
+     * Cancels a job. A queued job never starts; a running job stops fetching
+     * after the chunk being persisted.
+     *
+     * @param jobId Id returned on submission
+     * @return The job
+     */
+    GenerationJob cancel(String jobId);
+}
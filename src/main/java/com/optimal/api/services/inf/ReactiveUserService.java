@@ -0,0 +1,71 @@
+package com.optimal.api.services.inf;
+
+import com.optimal.api.models.dtos.UserDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link UserService}, backed by R2DBC.
+ * Writes publish the same events as {@link UserService}, so in-memory indexes and caches stay in sync
+ * whichever API changed the data.
+ */
+public interface ReactiveUserService {
+    /**
+     * Retrieves the users that follow the given id, ordered by id.
+     *
+     * @param lastId Id of the last user already seen, or 0 to start from the beginning
+     * @param limit  Maximum number of users to return
+     * @return Flux of UserDTO objects
+     */
+    Flux<UserDTO> getUsersAfter(long lastId, int limit);
+
+    /**
+     * Streams all users ordered by id, as they are read from the database.
+     *
+     * @return Flux of UserDTO objects
+     */
+    Flux<UserDTO> getAllUsers();
+
+    /**
+     * Saves a list of users in batches, one transaction per chunk.
+     * Users whose username already exists, or repeats within the list, are skipped.
+     *
+     * @param userDTOS List of UserDTO objects to save
+     * @return Mono of the saved UserDTO objects
+     */
+    Mono<List<UserDTO>> saveAllUsers(List<UserDTO> userDTOS);
+
+    /**
+     * Retrieves a user by their username.
+     *
+     * @param username The username of the user
+     * @return Mono of the user; errors with {@code UserNotFoundException} if it does not exist
+     */
+    Mono<UserDTO> getUserByUsername(String username);
+
+    /**
+     * Creates a new user.
+     *
+     * @param user UserDTO object containing user details
+     * @return Mono of the saved user; errors with {@code DuplicateResourceException} if the username is taken
+     */
+    Mono<UserDTO> createUser(UserDTO user);
+
+    /**
+     * Updates an existing user's information.
+     *
+     * @param updatedUser Updated UserDTO object
+     * @return Mono of the updated user; errors with {@code UserNotFoundException} if it does not exist
+     */
+    Mono<UserDTO> updateUser(UserDTO updatedUser);
+
+    /**
+     * Deletes a user by username.
+     *
+     * @param username The username of the user to delete
+     * @return Mono completing once deleted; errors with {@code UserNotFoundException} if it does not exist
+     */
+    Mono<Void> deleteUser(String username);
+}
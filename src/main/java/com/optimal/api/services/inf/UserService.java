@@ -1,10 +1,15 @@
 package com.optimal.api.services.inf;
 
+import com.optimal.api.models.dtos.UserCountDTO;
 import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.models.dtos.UserSearchCriteriaDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface UserService {
     /**
@@ -16,13 +21,101 @@ public interface UserService {
     Page<UserDTO> getAllUsers(Pageable pageable);
 
     /**
-     * Saves a list of users to the database.
+     * Retrieves the users that follow the given id, ordered by id.
+     * Unlike {@link #getAllUsers(Pageable)} this issues neither an offset scan nor a count query.
+     *
+     * @param lastId Id of the last user already seen, or 0 to start from the beginning
+     * @param limit  Maximum number of users to return
+     * @return List of UserDTO objects
+     */
+    List<UserDTO> getUsersAfter(long lastId, int limit);
+
+    /**
+     * Walks all users with a database cursor, ordered by id.
+     * Each user is detached before being handed over, so memory stays bounded.
+     *
+     * @param action Callback invoked for every user
+     */
+    void forEachUser(Consumer<UserDTO> action);
+
+    /**
+     * Walks all users with a database cursor, ordered by country, state and city.
+     * Each user is detached before being handed over, so memory stays bounded.
+     *
+     * @param action Callback invoked for every user
+     */
+    void forEachUserByLocation(Consumer<UserDTO> action);
+
+    /**
+     * Searches users by location, gender and name or email prefix, one keyset page at a time.
+     * Only the requested columns are read from the database.
+     *
+     * @param criteria Filters; those left empty are not applied
+     * @param fields   UserDTO attributes to return
+     * @param lastId   Id of the last user already returned, or 0 to start from the beginning
+     * @param limit    Maximum number of users to return
+     * @return One map per user from attribute name to value, plus the {@code id}, ordered by id
+     */
+    List<Map<String, Object>> searchUsers(UserSearchCriteriaDTO criteria, List<String> fields, long lastId, int limit);
+
+    /**
+     * Counts users per country with a {@code group by} in the database.
+     *
+     * @return One count per country, ordered by country
+     */
+    List<UserCountDTO> countUsersByCountry();
+
+    /**
+     * Counts users per state of a country with a {@code group by} in the database.
+     *
+     * @param country The country
+     * @return One count per state, ordered by state; empty if the country has no users
+     */
+    List<UserCountDTO> countUsersByState(String country);
+
+    /**
+     * Counts users per city of a state with a {@code group by} in the database.
+     *
+     * @param country The country
+     * @param state   The state within the country
+     * @return One count per city, ordered by city; empty if the state has no users
+     */
+    List<UserCountDTO> countUsersByCity(String country, String state);
+
+    /**
+     * Counts users per gender with a {@code group by} in the database.
+     *
+     * @return One count per gender, ordered by gender
+     */
+    List<UserCountDTO> countUsersByGender();
+
+    /**
+     * Saves a list of users to the database with JDBC batches, one transaction per chunk.
+     * Users whose username already exists, or repeats within the list, are skipped.
      *
      * @param userDTOS List of UserDTO objects to save
      * @return List of saved UserDTO objects
      */
     List<UserDTO> saveAllUsers(List<UserDTO> userDTOS);
 
+    /**
+     * Updates a list of users, matched by username, with JDBC batches, one transaction per chunk.
+     * Users whose username does not exist are skipped.
+     *
+     * @param userDTOS List of UserDTO objects to update
+     * @return List of updated UserDTO objects
+     */
+    List<UserDTO> updateAllUsers(List<UserDTO> userDTOS);
+
+    /**
+     * Deletes the users with the given usernames with JDBC batches, one transaction per chunk.
+     * Usernames that do not exist are skipped.
+     *
+     * @param usernames The usernames of the users to delete
+     * @return The usernames that were deleted
+     */
+    List<String> deleteAllUsers(List<String> usernames);
+
     /**
      * Retrieves a user by their username.
      *
@@ -31,6 +124,15 @@ public interface UserService {
      */
     UserDTO getUserByUsername(String username);
 
+    /**
+     * Retrieves the users with the given usernames, with one {@code IN} query per chunk of usernames.
+     * Usernames that do not exist are left out of the result.
+     *
+     * @param usernames The usernames to look up
+     * @return UserDTO objects found, in no particular order
+     */
+    List<UserDTO> getUsersByUsernames(Collection<String> usernames);
+
     /**
      * Creates a new user in the database.
      *
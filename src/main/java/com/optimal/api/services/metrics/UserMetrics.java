@@ -0,0 +1,149 @@
+package com.optimal.api.services.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Business meters of the user API that the automatic HTTP, JDBC pool and {@code @Timed}
+ * instrumentation cannot see: outcomes, row counts and upstream payload sizes.
+ * <p>
+ * Meters are registered once up front so recording is a plain counter update.
+ */
+@Component
+public class UserMetrics {
+
+    /**
+     * Outcome of a user operation, published as {@code users.outcomes{operation, outcome}}.
+     */
+    public enum Outcome {
+        LOOKUP_FOUND("lookup", "found"),
+        LOOKUP_NOT_FOUND("lookup", "not_found"),
+        CREATE_CREATED("create", "created"),
+        CREATE_DUPLICATE("create", "duplicate"),
+        UPDATE_UPDATED("update", "updated"),
+        UPDATE_NOT_FOUND("update", "not_found"),
+        DELETE_DELETED("delete", "deleted"),
+        DELETE_NOT_FOUND("delete", "not_found"),
+        UPSTREAM_SUCCESS("upstream", "success"),
+        UPSTREAM_FAILURE("upstream", "failure"),
+        UPSTREAM_HEDGED("upstream", "hedged"),
+        PREFETCH_HIT("prefetch", "hit"),
+        PREFETCH_MISS("prefetch", "miss");
+
+        private final String operation;
+        private final String outcome;
+
+        Outcome(String operation, String outcome) {
+            this.operation = operation;
+            this.outcome = outcome;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final DistributionSummary savedRows;
+    private final DistributionSummary skippedRows;
+    private final Timer treeRebuild;
+    private final DistributionSummary treeRebuildRows;
+    private final DistributionSummary upstreamUsers;
+    private final DistributionSummary upstreamBytes;
+
+    public UserMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("users.outcomes")
+                    .description("Outcomes of user operations")
+                    .tag("operation", outcome.operation)
+                    .tag("outcome", outcome.outcome)
+                    .register(meterRegistry));
+        }
+        this.savedRows = DistributionSummary.builder("users.save.rows")
+                .description("Users written per bulk save")
+                .tag("result", "saved")
+                .register(meterRegistry);
+        this.skippedRows = DistributionSummary.builder("users.save.rows")
+                .description("Users written per bulk save")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.treeRebuild = Timer.builder("users.tree.rebuild")
+                .description("Time to rebuild the user tree index from the database")
+                .register(meterRegistry);
+        this.treeRebuildRows = DistributionSummary.builder("users.tree.rebuild.rows")
+                .description("Users loaded per user tree index rebuild")
+                .register(meterRegistry);
+        this.upstreamUsers = DistributionSummary.builder("random.user.response.users")
+                .description("Users returned per random user API call")
+                .register(meterRegistry);
+        this.upstreamBytes = DistributionSummary.builder("random.user.response.size")
+                .description("Body size of random user API responses that advertise a content length")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public void record(Outcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    public void record(Outcome outcome, long count) {
+        outcomes.get(outcome).increment(count);
+    }
+
+    public void recordSave(int saved, int skipped) {
+        savedRows.record(saved);
+        skippedRows.record(skipped);
+    }
+
+    public void recordTreeRebuild(int rows, long elapsedNanos) {
+        treeRebuild.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        treeRebuildRows.record(rows);
+    }
+
+    /**
+     * Publishes {@code users.tree.size}. Registering again is a no-op.
+     */
+    public void monitorTreeSize(Supplier<Number> size) {
+        Gauge.builder("users.tree.size", size)
+                .description("Users held by the user tree index")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes {@code random.user.pool.size}. Registering again is a no-op.
+     */
+    public void monitorPrefetchPoolSize(Supplier<Number> size) {
+        Gauge.builder("random.user.pool.size", size)
+                .description("Random users fetched ahead and not yet served")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes {@code random.user.timeout}, the timeout currently applied to random user API calls.
+     */
+    public void monitorUpstreamTimeout(Supplier<Duration> timeout) {
+        TimeGauge.builder("random.user.timeout", () -> timeout.get().toNanos(), TimeUnit.NANOSECONDS)
+                .description("Timeout currently applied to random user API calls")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void recordUpstreamResponse(int users) {
+        upstreamUsers.record(users);
+    }
+
+    public void recordUpstreamBytes(long bytes) {
+        upstreamBytes.record(bytes);
+    }
+}
@@ -0,0 +1,22 @@
+package com.optimal.api.settings;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the background executor running random user generation jobs.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.generation.jobs")
+public class GenerationJobProperties {
+    /** Jobs running at the same time; each one holds at most one database connection. */
+    private int workers = 2;
+
+    /** Jobs waiting for a worker; further submissions are rejected. */
+    private int queueCapacity = 10;
+
+    /** Finished jobs kept for polling before the oldest are forgotten. */
+    private int retainedJobs = 100;
+}
@@ -0,0 +1,52 @@
+package com.optimal.api.settings;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Tunes the Reactor Netty client behind Spring Boot's {@code WebClient.Builder}.
+ * <p>
+ * Boot builds the client connector of every {@code WebClient} from the {@link ReactorResourceFactory} and the
+ * {@link ReactorNettyHttpClientMapper}s in the context, so declaring them here gives all clients one shared,
+ * bounded connection pool configured under {@code http-client.*}. The pool publishes its saturation as
+ * {@code reactor.netty.connection.provider.*} meters.
+ */
+@Configuration(proxyBeanMethods = false)
+public class HttpClientConfig {
+
+    static final String POOL_NAME = "http-client";
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(HttpClientProperties properties) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        // Global resources would ignore the connection provider below
+        factory.setUseGlobalResources(false);
+        factory.setConnectionProviderSupplier(() -> connectionProvider(properties));
+        return factory;
+    }
+
+    @Bean
+    public ReactorNettyHttpClientMapper httpClientTuning(HttpClientProperties properties) {
+        return httpClient -> httpClient
+                .keepAlive(properties.isKeepAlive())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .compress(properties.isCompression());
+    }
+
+    static ConnectionProvider connectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.optimal.api.settings;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the connection pool shared by every {@code WebClient} built from Spring Boot's builder.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientProperties {
+    /** Maximum number of open connections per remote host. */
+    private int maxConnections = 64;
+
+    /** Maximum number of requests waiting for a connection; further requests fail at once. */
+    private int pendingAcquireMaxCount = 256;
+
+    /** Maximum wait for a connection from the pool. */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    /** Idle connections are closed after this time, before servers and load balancers drop them silently. */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /** Connections are closed after this time, so DNS changes are eventually picked up. */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    /** Interval of the background eviction of idle and expired connections. */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    /** Maximum time to open a connection. */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** Whether connections are reused across requests (HTTP keep-alive) and probed with TCP keep-alive. */
+    private boolean keepAlive = true;
+
+    /** Whether gzip responses are requested and decompressed. */
+    private boolean compression = true;
+}
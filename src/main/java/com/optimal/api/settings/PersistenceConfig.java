@@ -0,0 +1,44 @@
+package com.optimal.api.settings;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Lets JPA/JDBC and R2DBC run side by side against the same database.
+ * <p>
+ * Spring Boot stops configuring the JDBC {@code DataSource} as soon as an R2DBC
+ * {@code ConnectionFactory} is present, so it is declared here from the usual
+ * {@code spring.datasource.*} properties. With two transaction managers in the context the
+ * JPA one is marked primary, which keeps every existing {@code @Transactional} unchanged;
+ * the reactive code drives its transactions through a {@code TransactionalOperator} instead.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PersistenceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
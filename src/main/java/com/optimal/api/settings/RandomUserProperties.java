@@ -0,0 +1,115 @@
+package com.optimal.api.settings;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings of the client calling the external random user API.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "random-user")
+public class RandomUserProperties {
+    /** Where users come from: {@code api} calls the random user API, {@code synthetic} makes them up locally. */
+    private String source = "api";
+
+    /**
+     * Seed of the synthetic users; the same seed always produces the same users in the same order,
+     * starting over with every run.
+     */
+    private long syntheticSeed = 42;
+
+    /** Base URL of the random user API. */
+    private String baseUrl = "https://randomuser.me/api/";
+
+    /** Timeout of a single upstream call; the upper bound of the adaptive timeout when that is enabled. */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /** Number of latest upstream calls whose durations drive the adaptive timeout and hedging. */
+    private int latencyWindow = 200;
+
+    /** Upstream calls to observe before the adaptive timeout and hedging kick in. */
+    private int latencyMinSamples = 20;
+
+    /** Timeout derived from recent upstream latencies. */
+    private final AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout();
+
+    /** Second upstream call sent when the first one is slower than usual; the first response wins. */
+    private final Hedging hedging = new Hedging();
+
+    /** Maximum number of users requested per upstream call; larger requests are split. */
+    private int chunkSize = 500;
+
+    /** Maximum number of upstream calls in flight for one request. */
+    private int concurrency = 4;
+
+    /** Number of retries of a failed upstream call. */
+    private int maxRetries = 2;
+
+    /** Initial delay before retrying a failed upstream call; doubles on each attempt. */
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    /** Whether users from successful calls are returned when other calls fail after all retries. */
+    private boolean allowPartialResults = false;
+
+    /** Pool of users fetched ahead of requests, only used with the {@code api} source. */
+    @Valid
+    private final Prefetch prefetch = new Prefetch();
+
+    @Getter
+    @Setter
+    public static class AdaptiveTimeout {
+        /** Whether the timeout follows the observed latency instead of always being {@code timeout}. */
+        private boolean enabled = true;
+
+        /** Latency percentile the timeout is derived from, between 0 and 1. */
+        private double percentile = 0.99;
+
+        /** Timeout as a multiple of that percentile. */
+        private double multiplier = 3.0;
+
+        /** Lower bound of the timeout. */
+        private Duration minTimeout = Duration.ofMillis(500);
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        /** Whether a slow upstream call is hedged with a second one. */
+        private boolean enabled = true;
+
+        /** Latency percentile after which the second call is sent, between 0 and 1. */
+        private double percentile = 0.95;
+
+        /** Lower bound of the delay before the second call. */
+        private Duration minDelay = Duration.ofMillis(50);
+    }
+
+    @Getter
+    @Setter
+    public static class Prefetch {
+        /** Whether users are fetched ahead of requests and served from memory before calling the API. */
+        private boolean enabled = false;
+
+        /** Number of users the pool is filled up to. */
+        private int capacity = 5000;
+
+        /** A refill up to the capacity starts as soon as fewer users than this are left. */
+        private int lowWaterMark = 1000;
+
+        /** Wait after a failed refill before starting another one. */
+        private Duration retryDelay = Duration.ofSeconds(10);
+
+        @AssertTrue(message = "capacity must be greater than low-water-mark")
+        public boolean isCapacityAboveLowWaterMark() {
+            return capacity > lowWaterMark;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.optimal.api.settings;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the one-line-per-request access log written by the request logging filter.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.request-logging")
+public class RequestLoggingProperties {
+    /** Whether requests are logged at all. */
+    private boolean enabled = true;
+
+    /** Share of ordinary requests that are logged, between 0 and 1. */
+    private double sampleRate = 1.0;
+
+    /** Requests taking at least this long are always logged, as are server errors. */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /** Upper bound on logged requests per second; the rest are counted and reported with the next line. 0 disables the bound. */
+    private int maxPerSecond = 100;
+}
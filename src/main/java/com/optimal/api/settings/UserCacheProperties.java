@@ -0,0 +1,24 @@
+package com.optimal.api.settings;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process cache in front of the user lookup by username.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.cache")
+public class UserCacheProperties {
+    /** Maximum number of usernames (found or not) kept in the cache. */
+    private long maximumSize = 10_000;
+
+    /** How long a found user is served from the cache. */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /** How long a username that does not exist is remembered, to absorb repeated 404s. */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
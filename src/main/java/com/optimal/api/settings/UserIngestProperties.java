@@ -0,0 +1,16 @@
+package com.optimal.api.settings;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the bulk user ingest path used by {@code saveAllUsers}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "users.ingest")
+public class UserIngestProperties {
+    /** Number of users written per JDBC batch, each chunk in its own transaction. */
+    private int chunkSize = 1000;
+}
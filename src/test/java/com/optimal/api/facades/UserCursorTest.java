@@ -0,0 +1,39 @@
+package com.optimal.api.facades;
+
+import com.optimal.api.customExceptions.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCursorTest {
+
+    private static String token(String content) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEncodeDecode_RoundTrips() {
+        for (long id : new long[]{0L, 1L, 42L, Long.MAX_VALUE}) {
+            String cursor = UserCursor.encode(id);
+            assertFalse(cursor.contains("=") || cursor.contains("+") || cursor.contains("/"));
+            assertEquals(id, UserCursor.decode(cursor));
+        }
+    }
+
+    @Test
+    void testDecode_StartsFromTheBeginningWithoutCursor() {
+        assertEquals(0L, UserCursor.decode(null));
+        assertEquals(0L, UserCursor.decode(" "));
+    }
+
+    @Test
+    void testDecode_RejectsMalformedCursors() {
+        for (String cursor : new String[]{"not base64!", token("42"), token("name:42"), token("id:"),
+                token("id:abc"), token("id:-1")}) {
+            assertThrows(InvalidRequestException.class, () -> UserCursor.decode(cursor), cursor);
+        }
+    }
+}
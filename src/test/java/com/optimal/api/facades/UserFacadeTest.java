@@ -0,0 +1,142 @@
+package com.optimal.api.facades;
+
+import com.optimal.api.customExceptions.InvalidRequestException;
+import com.optimal.api.models.bo.BulkItemResultBO;
+import com.optimal.api.models.bo.BulkItemStatus;
+import com.optimal.api.models.bo.BulkResultBO;
+import com.optimal.api.models.bo.CursorPageBO;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.bo.UserSearchBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.inf.UserService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserFacadeTest {
+
+    @Mock
+    private UserService userService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private UserFacade userFacade;
+
+    private static UserBO user(String username) {
+        return UserBO.builder()
+                .username(username)
+                .name("John Doe")
+                .email(username + "@example.com")
+                .gender("Male")
+                .picture("https://example.com/" + username + ".jpg")
+                .country("France")
+                .state("Paris")
+                .city("Paris")
+                .build();
+    }
+
+    private static List<BulkItemStatus> statuses(BulkResultBO result) {
+        return result.getItems().stream().map(BulkItemResultBO::getStatus).toList();
+    }
+
+    private static Map<String, Object> row(long id, String username) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("username", username);
+        row.put("name", "John");
+        return row;
+    }
+
+    @Test
+    void testCreateUsers_ReportsEveryItemWithoutFailingTheBatch() {
+        UserBO invalid = user("john_doe");
+        invalid.setEmail("not-an-email");
+        when(userService.saveAllUsers(anyList()))
+                .thenReturn(List.of(UserDTO.builder().username("jane_doe").build()));
+
+        BulkResultBO result = userFacade.createUsers(
+                Arrays.asList(user("jane_doe"), invalid, user("max_mustermann"), user("jane_doe"), null));
+
+        assertEquals(List.of(BulkItemStatus.CREATED, BulkItemStatus.INVALID, BulkItemStatus.CONFLICT,
+                BulkItemStatus.INVALID, BulkItemStatus.INVALID), statuses(result));
+        assertEquals("email: Invalid email format", result.getItems().get(1).getMessage());
+        assertEquals("Username repeated in the request", result.getItems().get(3).getMessage());
+        assertEquals(3, result.getCounts().get(BulkItemStatus.INVALID));
+        verify(userService, times(1)).saveAllUsers(argThat(users -> users.size() == 2));
+    }
+
+    @Test
+    void testCreateUsers_RejectsUsernamesThatShadowRoutes() {
+        when(userService.saveAllUsers(anyList()))
+                .thenReturn(List.of(UserDTO.builder().username("searcher").build()));
+
+        BulkResultBO result = userFacade.createUsers(List.of(user("search"), user("export"), user("searcher")));
+
+        assertEquals(List.of(BulkItemStatus.INVALID, BulkItemStatus.INVALID, BulkItemStatus.CREATED),
+                statuses(result));
+        assertEquals("username: Username is reserved", result.getItems().get(0).getMessage());
+    }
+
+    @Test
+    void testUpdateUsers_ReportsMissingUsers() {
+        when(userService.updateAllUsers(anyList()))
+                .thenReturn(List.of(UserDTO.builder().username("john_doe").build()));
+
+        BulkResultBO result = userFacade.updateUsers(List.of(user("john_doe"), user("ghost_user")));
+
+        assertEquals(List.of(BulkItemStatus.UPDATED, BulkItemStatus.NOT_FOUND), statuses(result));
+    }
+
+    @Test
+    void testDeleteUsers_SkipsWriteWhenNothingIsValid() {
+        BulkResultBO result = userFacade.deleteUsers(List.of(" "));
+
+        assertEquals(List.of(BulkItemStatus.INVALID), statuses(result));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void testSearchUsers_SelectsRequestedFieldsAndHidesId() {
+        UserSearchBO criteria = UserSearchBO.builder().country("France").namePrefix("jo").build();
+        List<Map<String, Object>> rows = List.of(row(4L, "john_doe"), row(9L, "jo_smith"));
+        when(userService.searchUsers(any(), eq(List.of("username", "name")), eq(0L), eq(2))).thenReturn(rows);
+
+        CursorPageBO<Map<String, Object>> page =
+                userFacade.searchUsers(criteria, List.of("username", " name", "username"), null, 1);
+
+        assertTrue(page.isHasNext());
+        assertEquals(List.of(Map.of("username", "john_doe", "name", "John")), page.getContent());
+        assertEquals(4L, UserCursor.decode(page.getNextCursor()));
+        assertEquals(4L, rows.get(0).get("id"));
+        verify(userService).searchUsers(argThat(dto -> "France".equals(dto.getCountry())
+                && "jo".equals(dto.getNamePrefix())), anyList(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testSearchUsers_RejectsUnknownField() {
+        assertThrows(InvalidRequestException.class,
+                () -> userFacade.searchUsers(UserSearchBO.builder().build(), List.of("password"), null, 20));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void testBulk_RejectsEmptyRequest() {
+        assertThrows(InvalidRequestException.class, () -> userFacade.deleteUsers(List.of()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.optimal.api.facades;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimal.api.models.dtos.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserJsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private String write(List<UserDTO> users) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.setRootValueSeparator(UserJsonWriter.LINE_SEPARATOR);
+            for (UserDTO user : users) {
+                UserJsonWriter.write(generator, user);
+            }
+        }
+        return writer.toString();
+    }
+
+    @Test
+    void testWritesSameJsonAsUserBO() throws IOException {
+        UserDTO user = UserDTO.builder()
+                .id(7L)
+                .username("zoe_\"quoted\"")
+                .name("Zoë Müller")
+                .email("zoe@example.com")
+                .gender("Female")
+                .picture("https://example.com/zoe.jpg")
+                .country("Germany")
+                .state("Bavaria")
+                .city("München")
+                .build();
+
+        assertEquals(objectMapper.writeValueAsString(user.toBO()), write(List.of(user)));
+    }
+
+    @Test
+    void testWritesNullsAndSeparatesLines() throws IOException {
+        UserDTO partial = UserDTO.builder().username("john_doe").build();
+
+        String json = write(List.of(partial, partial));
+
+        String line = objectMapper.writeValueAsString(partial.toBO());
+        assertEquals(line + "\n" + line, json);
+    }
+}
@@ -0,0 +1,62 @@
+package com.optimal.api.facades;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimal.api.models.dtos.UserDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserTreeJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static UserDTO user(String username, String country, String state, String city) {
+        return UserDTO.builder()
+                .username(username)
+                .country(country)
+                .state(state)
+                .city(city)
+                .build();
+    }
+
+    @Test
+    void testWritesNestedTree() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            UserTreeJsonWriter treeWriter = new UserTreeJsonWriter(generator);
+            treeWriter.start();
+            List.of(user("john_doe", "France", "Paris", "Paris"),
+                    user("jane_doe", "France", "Paris", "Paris"),
+                    user("marie_curie", "France", "Provence", "Marseille"),
+                    user("max_mustermann", "Germany", "Bavaria", "Munich"))
+                    .forEach(treeWriter);
+            treeWriter.finish();
+        }
+
+        Map<String, Map<String, Map<String, List<Map<String, Object>>>>> tree =
+                objectMapper.readValue(outputStream.toByteArray(), new TypeReference<>() {});
+        assertEquals(2, tree.size());
+        assertEquals(2, tree.get("France").get("Paris").get("Paris").size());
+        assertEquals("marie_curie", tree.get("France").get("Provence").get("Marseille").get(0).get("username"));
+        assertEquals(1, tree.get("Germany").get("Bavaria").get("Munich").size());
+    }
+
+    @Test
+    void testWritesEmptyTree() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            UserTreeJsonWriter treeWriter = new UserTreeJsonWriter(generator);
+            treeWriter.start();
+            treeWriter.finish();
+        }
+
+        assertEquals("{}", outputStream.toString());
+    }
+}
@@ -0,0 +1,96 @@
+package com.optimal.api.resources;
+
+import com.optimal.api.customExceptions.UserNotFoundException;
+import com.optimal.api.facades.ReactiveUserFacade;
+import com.optimal.api.models.bo.GenerationSummaryBO;
+import com.optimal.api.models.bo.UserBO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserControllerTest {
+
+    @Mock
+    private ReactiveUserFacade reactiveUserFacade;
+
+    @InjectMocks
+    private ReactiveUserController reactiveUserController;
+
+    private UserBO userBO;
+
+    @BeforeEach
+    void setUp() {
+        userBO = new UserBO();
+        userBO.setUsername("john_doe");
+        userBO.setEmail("john.doe@example.com");
+    }
+
+    @Test
+    void testGetUser() {
+        when(reactiveUserFacade.getUserByUsername("john_doe")).thenReturn(Mono.just(userBO));
+
+        StepVerifier.create(reactiveUserController.getUser("john_doe"))
+                .expectNext(userBO)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetUser_NotFound() {
+        when(reactiveUserFacade.getUserByUsername("unknown"))
+                .thenReturn(Mono.error(new UserNotFoundException("User not found: unknown")));
+
+        StepVerifier.create(reactiveUserController.getUser("unknown"))
+                .verifyError(UserNotFoundException.class);
+    }
+
+    @Test
+    void testCreateUser() {
+        when(reactiveUserFacade.createUser(userBO)).thenReturn(Mono.just(userBO));
+
+        StepVerifier.create(reactiveUserController.createUser(userBO))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                    assertEquals(userBO, response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testDeleteUser() {
+        when(reactiveUserFacade.deleteUser("john_doe")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveUserController.deleteUser("john_doe"))
+                .expectNext("User deleted successfully.")
+                .verifyComplete();
+    }
+
+    @Test
+    void testExportUsers() {
+        when(reactiveUserFacade.exportUsers()).thenReturn(Flux.just(userBO, userBO));
+
+        StepVerifier.create(reactiveUserController.exportUsers())
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGenerateUsers() {
+        GenerationSummaryBO summary = GenerationSummaryBO.builder().requested(5).fetched(5).persisted(5).build();
+        when(reactiveUserFacade.generateRandomUsers(5)).thenReturn(Mono.just(summary));
+
+        StepVerifier.create(reactiveUserController.generateUsers(5))
+                .expectNext(summary)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,103 @@
+package com.optimal.api.resources;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.optimal.api.settings.RequestLoggingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class RequestLoggingFilterTest {
+
+    @Spy
+    private RequestLoggingProperties properties = new RequestLoggingProperties();
+
+    @InjectMocks
+    private RequestLoggingFilter filter;
+
+    private final Logger requestLogger = (Logger) LoggerFactory.getLogger("com.optimal.api.requests");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        requestLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestLogger.detachAppender(appender);
+    }
+
+    @Test
+    void testLogsOneLinePerRequest() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/john_doe"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.contains("method=GET"), line);
+        assertTrue(line.contains("path=/api/users/john_doe"), line);
+        assertTrue(line.contains("status=200"), line);
+    }
+
+    @Test
+    void testLogsUncaughtExceptionAsServerError() {
+        properties.setSampleRate(0);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("GET", "/api/users/john_doe"),
+                        new MockHttpServletResponse(), (request, response) -> {
+                            throw failure;
+                        }));
+
+        assertSame(failure, thrown);
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.contains("status=500"), line);
+    }
+
+    @Test
+    void testSamplesOrdinaryRequestsButKeepsErrorsAndSlowRequests() {
+        properties.setSampleRate(0);
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/");
+
+        filter.log(request, 200, Duration.ofMillis(5).toNanos());
+        filter.log(request, 503, Duration.ofMillis(5).toNanos());
+        filter.log(request, 200, Duration.ofMillis(150).toNanos());
+
+        assertEquals(2, appender.list.size());
+    }
+
+    @Test
+    void testCapsLinesPerSecond() {
+        properties.setMaxPerSecond(2);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/");
+
+        for (int i = 0; i < 10; i++) {
+            filter.log(request, 200, 0);
+        }
+
+        // The window may roll over once mid-loop, which lets at most two more lines through.
+        assertTrue(appender.list.size() >= 2 && appender.list.size() <= 4, "logged " + appender.list.size());
+    }
+}
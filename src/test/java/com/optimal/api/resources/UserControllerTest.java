@@ -1,7 +1,16 @@
 package com.optimal.api.resources;
 
 import com.optimal.api.facades.UserFacade;
+import com.optimal.api.models.bo.BulkItemResultBO;
+import com.optimal.api.models.bo.BulkItemStatus;
+import com.optimal.api.models.bo.BulkResultBO;
+import com.optimal.api.models.bo.CursorPageBO;
+import com.optimal.api.models.bo.GenerationJobBO;
+import com.optimal.api.models.bo.GenerationSummaryBO;
 import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.bo.UserCountBO;
+import com.optimal.api.models.bo.UserLookupBO;
+import com.optimal.api.models.bo.UserSuggestionBO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +23,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +69,75 @@ class UserControllerTest {
         verify(userFacade, times(1)).getAllUsers(pageable);
     }
 
+    @Test
+    void testGetUsersByCursor() {
+        CursorPageBO<UserBO> mockPage = CursorPageBO.<UserBO>builder()
+                .content(List.of(userBO))
+                .size(1)
+                .nextCursor("aWQ6MQ")
+                .hasNext(true)
+                .build();
+
+        when(userFacade.getUsersAfter(null, 1)).thenReturn(mockPage);
+
+        ResponseEntity<CursorPageBO<UserBO>> response = userController.getUsersByCursor(null, 1);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("aWQ6MQ", Objects.requireNonNull(response.getBody()).getNextCursor());
+        verify(userFacade, times(1)).getUsersAfter(null, 1);
+    }
+
+    @Test
+    void testGetUsersByUsernames() {
+        UserLookupBO lookup = UserLookupBO.builder().users(List.of(userBO)).missing(List.of("ghost")).build();
+        when(userFacade.getUsersByUsernames(List.of("john_doe", "ghost"))).thenReturn(lookup);
+
+        ResponseEntity<UserLookupBO> response = userController.getUsers(List.of("john_doe", "ghost"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("ghost"), Objects.requireNonNull(response.getBody()).getMissing());
+        verify(userFacade, times(1)).getUsersByUsernames(List.of("john_doe", "ghost"));
+    }
+
+    @Test
+    void testCreateUsers() {
+        BulkResultBO bulkResult = BulkResultBO.builder()
+                .counts(Map.of(BulkItemStatus.CREATED, 1))
+                .items(List.of(new BulkItemResultBO(0, "john_doe", BulkItemStatus.CREATED, null)))
+                .build();
+        when(userFacade.createUsers(List.of(userBO))).thenReturn(bulkResult);
+
+        ResponseEntity<BulkResultBO> response = userController.createUsers(List.of(userBO));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(bulkResult, response.getBody());
+        verify(userFacade, times(1)).createUsers(List.of(userBO));
+    }
+
+    @Test
+    void testCountUsersByCountry() {
+        when(userFacade.countUsersByCountry()).thenReturn(List.of(new UserCountBO("France", 3)));
+
+        ResponseEntity<List<UserCountBO>> response = userController.countUsersByCountry();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, Objects.requireNonNull(response.getBody()).get(0).getUsers());
+        verify(userFacade, times(1)).countUsersByCountry();
+    }
+
+    @Test
+    void testAutocomplete() {
+        when(userFacade.autocomplete("jo", 10))
+                .thenReturn(List.of(new UserSuggestionBO("john_doe", "John Doe", "john@example.com")));
+
+        ResponseEntity<List<UserSuggestionBO>> response = userController.autocomplete("jo", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("john_doe", Objects.requireNonNull(response.getBody()).get(0).getUsername());
+        verify(userFacade, times(1)).autocomplete("jo", 10);
+    }
+
     @Test
     void testGetUserByUsername_Success() {
         when(userFacade.getUserByUsername("john_doe")).thenReturn(userBO);
@@ -119,6 +200,52 @@ class UserControllerTest {
         verify(userFacade, times(1)).generateRandomUsers(2);
     }
 
+    @Test
+    void testGenerateUsersPipelined_Success() {
+        GenerationSummaryBO summary = GenerationSummaryBO.builder()
+                .requested(2)
+                .fetched(2)
+                .persisted(2)
+                .build();
+
+        when(userFacade.generateRandomUsersPipelined(2)).thenReturn(summary);
+
+        ResponseEntity<GenerationSummaryBO> response = userController.generateUsersPipelined(2);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, Objects.requireNonNull(response.getBody()).getPersisted());
+        verify(userFacade, times(1)).generateRandomUsersPipelined(2);
+    }
+
+    @Test
+    void testSubmitGenerationJob_Accepted() {
+        GenerationJobBO job = GenerationJobBO.builder().id("job-1").status("QUEUED").requested(100).build();
+
+        when(userFacade.submitGenerationJob(100)).thenReturn(job);
+
+        ResponseEntity<GenerationJobBO> response = userController.submitGenerationJob(100);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("job-1", Objects.requireNonNull(response.getBody()).getId());
+        verify(userFacade, times(1)).submitGenerationJob(100);
+    }
+
+    @Test
+    void testCancelGenerationJob_Success() {
+        GenerationJobBO job = GenerationJobBO.builder().id("job-1").status("CANCELLED").build();
+
+        when(userFacade.cancelGenerationJob("job-1")).thenReturn(job);
+
+        ResponseEntity<GenerationJobBO> response = userController.cancelGenerationJob("job-1");
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("CANCELLED", Objects.requireNonNull(response.getBody()).getStatus());
+        verify(userFacade, times(1)).cancelGenerationJob("job-1");
+    }
+
     @Test
     void testGetUserTree_Success() {
         Map<String, Map<String, Map<String, List<UserBO>>>> mockTree = new HashMap<>();
@@ -131,4 +258,26 @@ class UserControllerTest {
         assertNotNull(response.getBody());
         verify(userFacade, times(1)).getUserTree();
     }
+
+    @Test
+    void testStreamUserTree_Success() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = userController.streamUserTree();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Objects.requireNonNull(response.getBody()).writeTo(outputStream);
+        verify(userFacade, times(1)).writeUserTree(outputStream);
+    }
+
+    @Test
+    void testExportUsers_Success() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = userController.exportUsers();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Objects.requireNonNull(response.getBody()).writeTo(outputStream);
+        verify(userFacade, times(1)).exportUsers(outputStream);
+    }
 }
@@ -0,0 +1,52 @@
+package com.optimal.api.respositories;
+
+import com.optimal.api.models.dtos.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private UserJdbcRepository userJdbcRepository;
+
+    private void batchReturns(int... counts) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{counts});
+    }
+
+    @Test
+    void testUpdateExisting_ReturnsOnlyUpdatedUsers() {
+        batchReturns(1, 0, 1);
+        List<UserDTO> users = List.of(UserDTO.builder().username("a").build(),
+                UserDTO.builder().username("b").build(), UserDTO.builder().username("c").build());
+
+        List<UserDTO> updated = userJdbcRepository.updateExisting(users);
+
+        assertEquals(List.of("a", "c"), updated.stream().map(UserDTO::getUsername).toList());
+    }
+
+    @Test
+    void testDeleteExisting_FailsWhenDriverReportsNoRowCounts() {
+        batchReturns(Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO);
+
+        assertThrows(IncorrectUpdateSemanticsDataAccessException.class,
+                () -> userJdbcRepository.deleteExisting(List.of("a", "b")));
+    }
+}
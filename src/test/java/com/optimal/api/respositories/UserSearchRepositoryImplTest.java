@@ -0,0 +1,100 @@
+package com.optimal.api.respositories;
+
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.models.dtos.UserSearchCriteriaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserSearchRepositoryImplTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<Long> ids;
+
+    private static UserDTO user(String username, String name, String email, String country) {
+        return UserDTO.builder()
+                .username(username)
+                .name(name)
+                .email(email)
+                .country(country)
+                .build();
+    }
+
+    private static List<Object> usernames(List<Map<String, Object>> rows) {
+        return rows.stream().map(row -> row.get("username")).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        ids = new ArrayList<>();
+        for (UserDTO user : userRepository.saveAll(List.of(
+                user("percent", "100% Jo", "p@example.com", "France"),
+                user("joe", "Joe Black", "joe_b@example.com", "France"),
+                user("jo_underscore", "Jo_Ann", "jo@example.com", "Germany"),
+                user("jx", "JoxAnn", "jx@example.com", "France"),
+                user("backslash", "Jo\\Ann", "b@example.com", "France")))) {
+            ids.add(user.getId());
+        }
+    }
+
+    @Test
+    void testSearch_SelectsRequestedFieldsUnderTheirNames() {
+        List<Map<String, Object>> rows = userRepository.search(UserSearchCriteriaDTO.builder().build(),
+                List.of("username", "country"), 0, 1);
+
+        assertEquals(List.of(Map.of("id", ids.get(0), "username", "percent", "country", "France")), rows);
+        assertEquals(List.of("id", "username", "country"), List.copyOf(rows.get(0).keySet()));
+    }
+
+    @Test
+    void testSearch_EscapesLikeWildcardsInPrefixes() {
+        List<String> fields = List.of("username");
+
+        assertEquals(List.of("jo_underscore"), usernames(userRepository.search(
+                UserSearchCriteriaDTO.builder().namePrefix("JO_").build(), fields, 0, 10)));
+        assertEquals(List.of("percent"), usernames(userRepository.search(
+                UserSearchCriteriaDTO.builder().namePrefix("100%").build(), fields, 0, 10)));
+        assertEquals(List.of("backslash"), usernames(userRepository.search(
+                UserSearchCriteriaDTO.builder().namePrefix("jo\\").build(), fields, 0, 10)));
+        assertEquals(List.of("joe"), usernames(userRepository.search(
+                UserSearchCriteriaDTO.builder().emailPrefix("joe_").build(), fields, 0, 10)));
+    }
+
+    @Test
+    void testSearch_PagesByIdAfterTheCursor() {
+        UserSearchCriteriaDTO france = UserSearchCriteriaDTO.builder().country("France").build();
+        List<String> fields = List.of("username");
+
+        List<Map<String, Object>> first = userRepository.search(france, fields, 0, 2);
+        List<Map<String, Object>> second = userRepository.search(france, fields, (Long) first.get(1).get("id"), 2);
+        List<Map<String, Object>> last = userRepository.search(france, fields, (Long) second.get(1).get("id"), 2);
+
+        assertEquals(List.of("percent", "joe"), usernames(first));
+        assertEquals(List.of("jx", "backslash"), usernames(second));
+        assertTrue(last.isEmpty());
+    }
+
+    @Test
+    void testSearch_PrefixIsLowercasedIndependentlyOfTheDefaultLocale() {
+        userRepository.save(user("ivan", "ivan petrov", "ivan@example.com", "Bulgaria"));
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals(List.of("ivan"), usernames(userRepository.search(
+                    UserSearchCriteriaDTO.builder().namePrefix("IVAN").build(), List.of("username"), 0, 10)));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.optimal.api.services;
+
+import com.optimal.api.customExceptions.JobNotFoundException;
+import com.optimal.api.customExceptions.JobRejectedException;
+import com.optimal.api.services.generation.GenerationJob;
+import com.optimal.api.services.generation.GenerationJobStatus;
+import com.optimal.api.services.generation.GenerationProgress;
+import com.optimal.api.services.generation.UserGenerationPipeline;
+import com.optimal.api.settings.GenerationJobProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenerationJobServiceImplTest {
+
+    @Mock
+    private UserGenerationPipeline userGenerationPipeline;
+
+    @Spy
+    private GenerationJobProperties properties = new GenerationJobProperties();
+
+    @Spy
+    private MockEnvironment environment = new MockEnvironment();
+
+    @InjectMocks
+    private GenerationJobServiceImpl generationJobService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        generationJobService.startExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        generationJobService.stopExecutor();
+    }
+
+    /** A pipeline run that blocks its worker until the test releases it. */
+    private Mono<GenerationProgress> blockedRun(GenerationProgress progress) {
+        return Mono.fromCallable(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return progress;
+        });
+    }
+
+    private static void awaitStatus(GenerationJob job, GenerationJobStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(status, job.getStatus());
+    }
+
+    @Test
+    void testSubmit_RunsJobToCompletion() throws InterruptedException {
+        when(userGenerationPipeline.run(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        GenerationJob job = generationJobService.submit(10);
+
+        awaitStatus(job, GenerationJobStatus.COMPLETED);
+        assertSame(job, generationJobService.getJob(job.getId()));
+    }
+
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() throws InterruptedException {
+        when(userGenerationPipeline.run(any())).thenAnswer(invocation -> blockedRun(invocation.getArgument(0)));
+
+        GenerationJob running = generationJobService.submit(10);
+        awaitStatus(running, GenerationJobStatus.RUNNING);
+        // The job is RUNNING just before the worker calls the pipeline; wait for the call itself.
+        verify(userGenerationPipeline, timeout(5000)).run(any());
+        GenerationJob queued = generationJobService.submit(10);
+
+        assertEquals(GenerationJobStatus.QUEUED, queued.getStatus());
+        assertThrows(JobRejectedException.class, () -> generationJobService.submit(10));
+    }
+
+    @Test
+    void testCancel_QueuedJobNeverRuns() throws InterruptedException {
+        when(userGenerationPipeline.run(any())).thenAnswer(invocation -> blockedRun(invocation.getArgument(0)));
+
+        GenerationJob running = generationJobService.submit(10);
+        awaitStatus(running, GenerationJobStatus.RUNNING);
+        GenerationJob queued = generationJobService.submit(10);
+
+        generationJobService.cancel(queued.getId());
+        release.countDown();
+
+        awaitStatus(running, GenerationJobStatus.COMPLETED);
+        assertEquals(GenerationJobStatus.CANCELLED, queued.getStatus());
+        verify(userGenerationPipeline, times(1)).run(any());
+    }
+
+    @Test
+    void testCancel_QueuedJobIsFinishedAndFreesItsQueueSlot() throws InterruptedException {
+        when(userGenerationPipeline.run(any())).thenAnswer(invocation -> blockedRun(invocation.getArgument(0)));
+
+        GenerationJob running = generationJobService.submit(10);
+        awaitStatus(running, GenerationJobStatus.RUNNING);
+        verify(userGenerationPipeline, timeout(5000)).run(any());
+        GenerationJob queued = generationJobService.submit(10);
+
+        generationJobService.cancel(queued.getId());
+
+        GenerationProgress progress = queued.getProgress();
+        assertTrue(progress.isFinished());
+        assertEquals(0, progress.getElapsedMillis());
+        assertEquals(0, progress.getFailed());
+        assertEquals(10, progress.getCancelled());
+        // The queue holds one job: the cancelled one must no longer take the slot.
+        GenerationJob next = generationJobService.submit(10);
+        assertEquals(GenerationJobStatus.QUEUED, next.getStatus());
+    }
+
+    @Test
+    void testCancel_FinishedJobKeepsItsReport() throws InterruptedException {
+        when(userGenerationPipeline.run(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        GenerationJob job = generationJobService.submit(10);
+        awaitStatus(job, GenerationJobStatus.COMPLETED);
+
+        generationJobService.cancel(job.getId());
+
+        assertEquals(GenerationJobStatus.COMPLETED, job.getStatus());
+        assertFalse(job.getProgress().isCancelled());
+        assertEquals(10, job.getProgress().getFailed());
+        assertEquals(0, job.getProgress().getCancelled());
+    }
+
+    @Test
+    void testGetJob_NotFound() {
+        assertThrows(JobNotFoundException.class, () -> generationJobService.getJob("unknown"));
+    }
+
+    @Test
+    void testSubmit_RunsOnVirtualThreadsWhenEnabled() throws InterruptedException {
+        generationJobService.stopExecutor();
+        environment.setProperty("spring.threads.virtual.enabled", "true");
+        generationJobService.startExecutor();
+        when(userGenerationPipeline.run(any())).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().isVirtual());
+            return Mono.just(invocation.getArgument(0));
+        });
+
+        GenerationJob job = generationJobService.submit(10);
+
+        awaitStatus(job, GenerationJobStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,199 @@
+package com.optimal.api.services;
+
+import com.optimal.api.customExceptions.DuplicateResourceException;
+import com.optimal.api.customExceptions.UserNotFoundException;
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.dtos.ReactiveUserDTO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.respositories.ReactiveUserRepository;
+import com.optimal.api.respositories.UserR2dbcRepository;
+import com.optimal.api.services.metrics.UserMetrics;
+import com.optimal.api.settings.UserIngestProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserServiceImplTest {
+
+    @Mock
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @Mock
+    private UserR2dbcRepository userR2dbcRepository;
+
+    @Spy
+    private UserIngestProperties ingestProperties = new UserIngestProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private UserMetrics userMetrics = new UserMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ReactiveUserServiceImpl reactiveUserService;
+
+    private UserDTO userDTO;
+
+    @BeforeEach
+    void setUp() {
+        userDTO = new UserDTO();
+        userDTO.setUsername("john_doe");
+        userDTO.setEmail("john.doe@example.com");
+    }
+
+    @Test
+    void testGetUsersAfter() {
+        ReactiveUserDTO row = ReactiveUserDTO.builder().id(6L).username("john_doe").build();
+        when(reactiveUserRepository.findUsersAfter(5L, 10)).thenReturn(Flux.just(row));
+
+        StepVerifier.create(reactiveUserService.getUsersAfter(5L, 10))
+                .assertNext(user -> {
+                    assertEquals(6L, user.getId());
+                    assertEquals("john_doe", user.getUsername());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetUserByUsername_NotFound() {
+        when(reactiveUserRepository.findByUsername("unknown")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveUserService.getUserByUsername("unknown"))
+                .verifyError(UserNotFoundException.class);
+    }
+
+    @Test
+    void testSaveAllUsers_ChunksAndPublishesPerChunk() {
+        ingestProperties.setChunkSize(2);
+        List<UserDTO> users = List.of(user("a"), user("b"), user("a"), user("c"));
+        when(userR2dbcRepository.insertIfAbsent(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(reactiveUserService.saveAllUsers(users))
+                .assertNext(saved -> assertEquals(List.of("a", "b", "c"),
+                        saved.stream().map(UserDTO::getUsername).toList()))
+                .verifyComplete();
+
+        verify(userR2dbcRepository, times(2)).insertIfAbsent(any());
+        verify(eventPublisher, times(2)).publishEvent(any(UsersSavedEvent.class));
+    }
+
+    @Test
+    void testSaveAllUsers_RetriesRowByRowWhenBatchHitsConcurrentDuplicate() {
+        UserDTO a = user("a");
+        UserDTO b = user("b");
+        when(userR2dbcRepository.insertIfAbsent(List.of(a, b)))
+                .thenReturn(Mono.error(new DuplicateKeyException("users.username")));
+        when(userR2dbcRepository.insertIfAbsent(List.of(a)))
+                .thenReturn(Mono.error(new DuplicateKeyException("users.username")));
+        when(userR2dbcRepository.insertIfAbsent(List.of(b))).thenReturn(Mono.just(List.of(b)));
+
+        StepVerifier.create(reactiveUserService.saveAllUsers(List.of(a, b)))
+                .expectNext(List.of(b))
+                .verifyComplete();
+
+        verify(eventPublisher, times(1)).publishEvent(any(UsersSavedEvent.class));
+    }
+
+    @Test
+    void testCreateUser_Success() {
+        when(userR2dbcRepository.insertIfAbsent(List.of(userDTO))).thenReturn(Mono.just(List.of(userDTO)));
+
+        StepVerifier.create(reactiveUserService.createUser(userDTO))
+                .expectNext(userDTO)
+                .verifyComplete();
+
+        verify(eventPublisher).publishEvent(any(UsersSavedEvent.class));
+    }
+
+    @Test
+    void testDeleteUser_PublishesOnBoundedElastic() {
+        when(reactiveUserRepository.deleteByUsername("john_doe")).thenReturn(Mono.just(1));
+        AtomicReference<String> publishingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            publishingThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(eventPublisher).publishEvent(any(UsersDeletedEvent.class));
+
+        StepVerifier.create(reactiveUserService.deleteUser("john_doe"))
+                .verifyComplete();
+
+        assertTrue(publishingThread.get().startsWith("boundedElastic"), publishingThread.get());
+    }
+
+    @Test
+    void testCreateUser_ConcurrentDuplicate() {
+        when(userR2dbcRepository.insertIfAbsent(List.of(userDTO)))
+                .thenReturn(Mono.error(new DuplicateKeyException("users.username")));
+
+        StepVerifier.create(reactiveUserService.createUser(userDTO))
+                .verifyError(DuplicateResourceException.class);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testCreateUser_Duplicate() {
+        when(userR2dbcRepository.insertIfAbsent(List.of(userDTO))).thenReturn(Mono.just(List.of()));
+
+        StepVerifier.create(reactiveUserService.createUser(userDTO))
+                .verifyError(DuplicateResourceException.class);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateUser_NotFound() {
+        when(reactiveUserRepository.updateByUsername(eq("john_doe"), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(0));
+
+        StepVerifier.create(reactiveUserService.updateUser(userDTO))
+                .verifyError(UserNotFoundException.class);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testDeleteUser_Success() {
+        when(reactiveUserRepository.deleteByUsername("john_doe")).thenReturn(Mono.just(1));
+
+        StepVerifier.create(reactiveUserService.deleteUser("john_doe"))
+                .verifyComplete();
+
+        verify(eventPublisher).publishEvent(any(UsersDeletedEvent.class));
+    }
+
+    @Test
+    void testDeleteUser_NotFound() {
+        when(reactiveUserRepository.deleteByUsername("unknown")).thenReturn(Mono.just(0));
+
+        StepVerifier.create(reactiveUserService.deleteUser("unknown"))
+                .verifyError(UserNotFoundException.class);
+    }
+
+    private static UserDTO user(String username) {
+        UserDTO user = new UserDTO();
+        user.setUsername(username);
+        return user;
+    }
+}
@@ -2,14 +2,26 @@ package com.optimal.api.services;
 
 import com.optimal.api.customExceptions.DuplicateResourceException;
 import com.optimal.api.customExceptions.UserNotFoundException;
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.dtos.UserCountDTO;
 import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.respositories.UserJdbcRepository;
 import com.optimal.api.respositories.UserRepository;
+import com.optimal.api.services.metrics.UserMetrics;
+import com.optimal.api.services.metrics.UserMetrics.Outcome;
+import com.optimal.api.settings.UserIngestProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -17,6 +29,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +40,18 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    @Spy
+    private UserIngestProperties ingestProperties = new UserIngestProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private UserMetrics userMetrics = new UserMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -53,17 +78,120 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findAll(pageable);
     }
 
+    @Test
+    void testGetUsersAfter() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(10))).thenReturn(List.of(userDTO));
+
+        List<UserDTO> result = userService.getUsersAfter(5L, 10);
+
+        assertEquals(1, result.size());
+        verify(userRepository, times(1)).findByIdGreaterThanOrderByIdAsc(5L, Limit.of(10));
+        verify(userRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testCountUsersByState() {
+        List<UserCountDTO> counts = List.of(new UserCountDTO("Paris", 3L));
+        when(userRepository.countByState("France")).thenReturn(counts);
+
+        assertEquals(counts, userService.countUsersByState("France"));
+        verify(userRepository, never()).findAll();
+    }
+
     @Test
     void testSaveAllUsers() {
         List<UserDTO> userList = List.of(userDTO);
 
-        when(userRepository.saveAll(userList)).thenReturn(userList);
+        when(userJdbcRepository.insertIfAbsent(userList)).thenReturn(userList);
 
         List<UserDTO> result = userService.saveAllUsers(userList);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).saveAll(userList);
+        verify(userJdbcRepository, times(1)).insertIfAbsent(userList);
+        verify(userRepository, never()).saveAll(any());
+        verify(eventPublisher, times(1)).publishEvent(any(UsersSavedEvent.class));
+    }
+
+    @Test
+    void testSaveAllUsers_ChunksAndSkipsDuplicates() {
+        ingestProperties.setChunkSize(2);
+        UserDTO jane = UserDTO.builder().username("jane_doe").build();
+        UserDTO max = UserDTO.builder().username("max_mustermann").build();
+        UserDTO johnAgain = UserDTO.builder().username("john_doe").build();
+
+        when(userJdbcRepository.insertIfAbsent(List.of(userDTO, jane))).thenReturn(List.of(userDTO));
+        when(userJdbcRepository.insertIfAbsent(List.of(max))).thenReturn(List.of(max));
+
+        List<UserDTO> result = userService.saveAllUsers(List.of(userDTO, jane, johnAgain, max));
+
+        assertEquals(List.of(userDTO, max), result);
+        verify(userJdbcRepository, times(2)).insertIfAbsent(anyList());
+        verify(eventPublisher, times(2)).publishEvent(any(UsersSavedEvent.class));
+        verify(userMetrics).recordSave(2, 2);
+    }
+
+    @Test
+    void testSaveAllUsers_RetriesRowByRowWhenBatchHitsConcurrentDuplicate() {
+        UserDTO jane = UserDTO.builder().username("jane_doe").build();
+        UserDTO max = UserDTO.builder().username("max_mustermann").build();
+        List<UserDTO> users = List.of(userDTO, jane, max);
+        when(userJdbcRepository.insertIfAbsent(users)).thenThrow(new DuplicateKeyException("users.username"));
+        when(userJdbcRepository.insertIfAbsent(userDTO)).thenReturn(true);
+        when(userJdbcRepository.insertIfAbsent(jane)).thenThrow(new DuplicateKeyException("users.username"));
+        when(userJdbcRepository.insertIfAbsent(max)).thenReturn(false);
+
+        List<UserDTO> result = userService.saveAllUsers(users);
+
+        assertEquals(List.of(userDTO), result);
+        verify(eventPublisher, times(1)).publishEvent(any(UsersSavedEvent.class));
+        verify(userMetrics).recordSave(1, 2);
+    }
+
+    @Test
+    void testSaveAllUsers_ConcurrentDuplicateInOneChunkKeepsTheOthers() {
+        ingestProperties.setChunkSize(2);
+        UserDTO jane = UserDTO.builder().username("jane_doe").build();
+        UserDTO max = UserDTO.builder().username("max_mustermann").build();
+        UserDTO erika = UserDTO.builder().username("erika_mustermann").build();
+        when(userJdbcRepository.insertIfAbsent(List.of(userDTO, jane))).thenReturn(List.of(userDTO, jane));
+        when(userJdbcRepository.insertIfAbsent(List.of(max, erika)))
+                .thenThrow(new DuplicateKeyException("users.username"));
+        when(userJdbcRepository.insertIfAbsent(max)).thenThrow(new DuplicateKeyException("users.username"));
+        when(userJdbcRepository.insertIfAbsent(erika)).thenReturn(true);
+
+        List<UserDTO> result = userService.saveAllUsers(List.of(userDTO, jane, max, erika));
+
+        assertEquals(List.of(userDTO, jane, erika), result);
+        verify(eventPublisher, times(2)).publishEvent(any(UsersSavedEvent.class));
+        verify(userMetrics).recordSave(3, 1);
+    }
+
+    @Test
+    void testUpdateAllUsers_ChunksAndSkipsMissing() {
+        ingestProperties.setChunkSize(1);
+        UserDTO ghost = UserDTO.builder().username("ghost").build();
+        when(userJdbcRepository.updateExisting(List.of(userDTO))).thenReturn(List.of(userDTO));
+        when(userJdbcRepository.updateExisting(List.of(ghost))).thenReturn(List.of());
+
+        List<UserDTO> result = userService.updateAllUsers(List.of(userDTO, ghost));
+
+        assertEquals(List.of(userDTO), result);
+        verify(eventPublisher, times(2)).publishEvent(any(UsersSavedEvent.class));
+        verify(userMetrics).record(Outcome.UPDATE_UPDATED, 1);
+        verify(userMetrics).record(Outcome.UPDATE_NOT_FOUND, 1);
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
+
+    @Test
+    void testDeleteAllUsers() {
+        when(userJdbcRepository.deleteExisting(List.of("john_doe", "ghost"))).thenReturn(List.of("john_doe"));
+
+        List<String> result = userService.deleteAllUsers(List.of("john_doe", "ghost"));
+
+        assertEquals(List.of("john_doe"), result);
+        verify(eventPublisher, times(1)).publishEvent(any(UsersDeletedEvent.class));
+        verify(userMetrics).record(Outcome.DELETE_NOT_FOUND, 1);
     }
 
     @Test
@@ -83,64 +211,95 @@ class UserServiceImplTest {
 
         assertThrows(UserNotFoundException.class, () -> userService.getUserByUsername("john_doe"));
         verify(userRepository, times(1)).findByUsername("john_doe");
+        verify(userMetrics).record(Outcome.LOOKUP_NOT_FOUND);
+    }
+
+    @Test
+    void testGetUsersByUsernames_ChunksInList() {
+        List<String> usernames = IntStream.range(0, UserServiceImpl.MAX_IN_LIST_SIZE + 1)
+                .mapToObj(i -> "user" + i)
+                .toList();
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of(userDTO)).thenReturn(List.of());
+
+        List<UserDTO> result = userService.getUsersByUsernames(usernames);
+
+        assertEquals(List.of(userDTO), result);
+        verify(userRepository).findByUsernameIn(usernames.subList(0, UserServiceImpl.MAX_IN_LIST_SIZE));
+        verify(userRepository).findByUsernameIn(List.of("user" + UserServiceImpl.MAX_IN_LIST_SIZE));
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userMetrics).record(Outcome.LOOKUP_NOT_FOUND, UserServiceImpl.MAX_IN_LIST_SIZE);
     }
 
     @Test
     void testCreateUser_Success() {
-        when(userRepository.existsByUsername("john_doe")).thenReturn(false);
-        when(userRepository.save(userDTO)).thenReturn(userDTO);
+        when(userJdbcRepository.insertIfAbsent(userDTO)).thenReturn(true);
 
         UserDTO result = userService.createUser(userDTO);
 
         assertNotNull(result);
         assertEquals("john_doe", result.getUsername());
-        verify(userRepository, times(1)).existsByUsername("john_doe");
-        verify(userRepository, times(1)).save(userDTO);
+        verify(userJdbcRepository, times(1)).insertIfAbsent(userDTO);
+        verifyNoInteractions(userRepository);
+        verify(eventPublisher, times(1)).publishEvent(any(UsersSavedEvent.class));
     }
 
     @Test
     void testCreateUser_Duplicate() {
-        when(userRepository.existsByUsername("john_doe")).thenReturn(true);
+        when(userJdbcRepository.insertIfAbsent(userDTO)).thenReturn(false);
 
         assertThrows(DuplicateResourceException.class, () -> userService.createUser(userDTO));
-        verify(userRepository, times(1)).existsByUsername("john_doe");
+        verify(userJdbcRepository, times(1)).insertIfAbsent(userDTO);
+        verifyNoInteractions(eventPublisher);
+        verify(userMetrics).record(Outcome.CREATE_DUPLICATE);
+    }
+
+    @Test
+    void testCreateUser_ConcurrentDuplicate() {
+        when(userJdbcRepository.insertIfAbsent(userDTO)).thenThrow(new DuplicateKeyException("users.username"));
+
+        assertThrows(DuplicateResourceException.class, () -> userService.createUser(userDTO));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testUpdateUser_Success() {
-        when(userRepository.existsByUsername("john_doe")).thenReturn(true);
-        when(userRepository.save(userDTO)).thenReturn(userDTO);
+        when(userJdbcRepository.updateByUsername(userDTO)).thenReturn(true);
 
         UserDTO result = userService.updateUser(userDTO);
 
         assertNotNull(result);
         assertEquals("john_doe", result.getUsername());
-        verify(userRepository, times(1)).existsByUsername("john_doe");
-        verify(userRepository, times(1)).save(userDTO);
+        verify(userJdbcRepository, times(1)).updateByUsername(userDTO);
+        verify(userRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(any(UsersSavedEvent.class));
     }
 
     @Test
     void testUpdateUser_NotFound() {
-        when(userRepository.existsByUsername("john_doe")).thenReturn(false);
+        when(userJdbcRepository.updateByUsername(userDTO)).thenReturn(false);
 
         assertThrows(UserNotFoundException.class, () -> userService.updateUser(userDTO));
-        verify(userRepository, times(1)).existsByUsername("john_doe");
+        verify(userJdbcRepository, times(1)).updateByUsername(userDTO);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void testDeleteUser_Success() {
-        when(userRepository.findByUsername("john_doe")).thenReturn(Optional.of(userDTO));
+        when(userJdbcRepository.deleteByUsername("john_doe")).thenReturn(true);
 
         userService.deleteUser("john_doe");
 
-        verify(userRepository, times(1)).delete(userDTO);
+        verify(userJdbcRepository, times(1)).deleteByUsername("john_doe");
+        verifyNoInteractions(userRepository);
+        verify(eventPublisher, times(1)).publishEvent(any(UsersDeletedEvent.class));
     }
 
     @Test
     void testDeleteUser_NotFound() {
-        when(userRepository.findByUsername("john_doe")).thenReturn(Optional.empty());
+        when(userJdbcRepository.deleteByUsername("john_doe")).thenReturn(false);
 
         assertThrows(UserNotFoundException.class, () -> userService.deleteUser("john_doe"));
-        verify(userRepository, times(1)).findByUsername("john_doe");
+        verify(userJdbcRepository, times(1)).deleteByUsername("john_doe");
+        verify(userMetrics).record(Outcome.DELETE_NOT_FOUND);
     }
 }
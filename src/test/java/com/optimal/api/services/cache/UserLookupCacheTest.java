@@ -0,0 +1,114 @@
+package com.optimal.api.services.cache;
+
+import com.optimal.api.customExceptions.UserNotFoundException;
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.settings.UserCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLookupCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserLookupCache userLookupCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userLookupCache = new UserLookupCache(new UserCacheProperties(), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    private Function<String, UserBO> loaderFor(String existingUsername) {
+        return username -> {
+            loads.incrementAndGet();
+            if (!username.equals(existingUsername)) {
+                throw new UserNotFoundException("User not found: " + username);
+            }
+            return UserBO.builder().username(username).build();
+        };
+    }
+
+    @Test
+    void testGet_LoadsOnceThenHits() {
+        UserBO first = userLookupCache.get("john_doe", loaderFor("john_doe"));
+        UserBO second = userLookupCache.get("john_doe", loaderFor("john_doe"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", UserLookupCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testGet_CachesMissingUsers() {
+        assertThrows(UserNotFoundException.class, () -> userLookupCache.get("ghost", loaderFor("john_doe")));
+        assertThrows(UserNotFoundException.class, () -> userLookupCache.get("ghost", loaderFor("john_doe")));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetAll_LoadsOnlyMissesInOneCall() {
+        userLookupCache.get("john_doe", loaderFor("john_doe"));
+        List<Set<String>> loaderCalls = new ArrayList<>();
+        Function<Set<String>, Map<String, UserBO>> loader = usernames -> {
+            loaderCalls.add(Set.copyOf(usernames));
+            return Map.of("jane_doe", UserBO.builder().username("jane_doe").build());
+        };
+
+        Map<String, UserBO> found = userLookupCache.getAll(List.of("john_doe", "jane_doe", "ghost"), loader);
+        userLookupCache.getAll(List.of("jane_doe", "ghost"), loader);
+
+        assertEquals(Set.of("john_doe", "jane_doe"), found.keySet());
+        assertEquals(List.of(Set.of("jane_doe", "ghost")), loaderCalls);
+        assertThrows(UserNotFoundException.class, () -> userLookupCache.get("ghost", loaderFor("ghost")));
+    }
+
+    @Test
+    void testEvents_InvalidateEntries() {
+        assertThrows(UserNotFoundException.class, () -> userLookupCache.get("john_doe", loaderFor("nobody")));
+        userLookupCache.onUsersSaved(new UsersSavedEvent(List.of(UserDTO.builder().username("john_doe").build())));
+
+        assertEquals("john_doe", userLookupCache.get("john_doe", loaderFor("john_doe")).getUsername());
+
+        userLookupCache.onUsersDeleted(new UsersDeletedEvent(List.of("john_doe")));
+        userLookupCache.get("john_doe", loaderFor("john_doe"));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGetAll_SaveDuringLoadIsNotCachedStale() {
+        UserBO oldJohn = UserBO.builder().username("john_doe").name("Old").build();
+        // The load reads the old row and the missing new user, then both are saved before it caches them
+        Function<Set<String>, Map<String, UserBO>> racingLoader = usernames -> {
+            userLookupCache.onUsersSaved(new UsersSavedEvent(List.of(
+                    UserDTO.builder().username("john_doe").build(),
+                    UserDTO.builder().username("new_user").build())));
+            return Map.of("john_doe", oldJohn);
+        };
+
+        Map<String, UserBO> found = userLookupCache.getAll(List.of("john_doe", "new_user"), racingLoader);
+
+        assertEquals(Map.of("john_doe", oldJohn), found);
+        Map<String, UserBO> reloaded = userLookupCache.getAll(List.of("john_doe", "new_user"), usernames -> Map.of(
+                "john_doe", UserBO.builder().username("john_doe").name("New").build(),
+                "new_user", UserBO.builder().username("new_user").build()));
+        assertEquals("New", reloaded.get("john_doe").getName());
+        assertTrue(reloaded.containsKey("new_user"));
+    }
+}
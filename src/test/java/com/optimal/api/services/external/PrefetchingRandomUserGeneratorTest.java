@@ -0,0 +1,196 @@
+package com.optimal.api.services.external;
+
+import com.optimal.api.customExceptions.RandomUserServiceException;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.metrics.UserMetrics;
+import com.optimal.api.settings.RandomUserProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrefetchingRandomUserGeneratorTest {
+
+    private RandomUserGeneratorImpl delegate;
+    private RandomUserProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private int nextUser;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(RandomUserGeneratorImpl.class);
+        properties = new RandomUserProperties();
+        properties.getPrefetch().setEnabled(true);
+        properties.getPrefetch().setCapacity(10);
+        properties.getPrefetch().setLowWaterMark(5);
+        meterRegistry = new SimpleMeterRegistry();
+        when(delegate.streamRandomUsers(anyInt()))
+                .thenAnswer(invocation -> Flux.just(users(invocation.getArgument(0))));
+    }
+
+    private PrefetchingRandomUserGenerator generator() {
+        return new PrefetchingRandomUserGenerator(delegate, properties, new UserMetrics(meterRegistry));
+    }
+
+    private List<UserDTO> users(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> UserDTO.builder().username("user_" + nextUser++).build())
+                .toList();
+    }
+
+    private static List<String> usernames(List<UserDTO> users) {
+        return users.stream().map(UserDTO::getUsername).toList();
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("users.outcomes").tag("operation", "prefetch").tag("outcome", outcome)
+                .counter().count();
+    }
+
+    @Test
+    void testServesFromThePoolWithoutCallingTheApi() {
+        PrefetchingRandomUserGenerator generator = generator();
+        generator.fill();
+
+        List<UserDTO> users = generator.getRandomUsers(4);
+
+        assertEquals(List.of("user_0", "user_1", "user_2", "user_3"), usernames(users));
+        assertEquals(6, generator.size());
+        assertEquals(4, outcome("hit"));
+        verify(delegate, times(1)).streamRandomUsers(10);
+        verify(delegate, never()).getRandomUsers(anyInt());
+        assertEquals(6, meterRegistry.get("random.user.pool.size").gauge().value());
+    }
+
+    @Test
+    void testRefillsBelowTheLowWaterMark() {
+        PrefetchingRandomUserGenerator generator = generator();
+        generator.fill();
+
+        generator.getRandomUsers(6);
+
+        verify(delegate, times(1)).streamRandomUsers(6);
+        assertEquals(10, generator.size());
+    }
+
+    @Test
+    void testFetchesOnlyWhatThePoolLacks() {
+        properties.getPrefetch().setCapacity(3);
+        properties.getPrefetch().setLowWaterMark(3);
+        when(delegate.getRandomUsers(2)).thenAnswer(invocation -> users(2));
+        PrefetchingRandomUserGenerator generator = generator();
+        generator.fill();
+        // The next refill never completes, so the pool is only drained.
+        when(delegate.streamRandomUsers(anyInt())).thenReturn(Flux.never());
+        generator.getRandomUsers(1);
+
+        List<UserDTO> users = generator.getRandomUsers(4);
+
+        assertEquals(List.of("user_1", "user_2", "user_3", "user_4"), usernames(users));
+        assertEquals(3, outcome("hit"));
+        assertEquals(2, outcome("miss"));
+    }
+
+    @Test
+    void testStreamEmitsPooledUsersFirst() {
+        PrefetchingRandomUserGenerator generator = generator();
+        generator.fill();
+
+        List<List<UserDTO>> chunks = generator.streamRandomUsers(12).collectList().block();
+
+        assertEquals(2, chunks.size());
+        assertEquals(10, chunks.get(0).size());
+        assertEquals(2, chunks.get(1).size());
+    }
+
+    @Test
+    void testFailedLiveCallPutsPooledUsersBack() {
+        when(delegate.getRandomUsers(anyInt())).thenThrow(new RandomUserServiceException("down"));
+        PrefetchingRandomUserGenerator generator = generator();
+        generator.fill();
+        when(delegate.streamRandomUsers(anyInt())).thenReturn(Flux.never());
+
+        assertThrows(RandomUserServiceException.class, () -> generator.getRandomUsers(15));
+
+        assertEquals(10, generator.size());
+        assertEquals("user_0", generator.getRandomUsers(1).get(0).getUsername());
+    }
+
+    @Test
+    void testWaitsBeforeRetryingAFailedRefill() {
+        properties.getPrefetch().setRetryDelay(Duration.ofMinutes(1));
+        when(delegate.streamRandomUsers(anyInt())).thenReturn(Flux.error(new RandomUserServiceException("down")));
+        when(delegate.getRandomUsers(1)).thenAnswer(invocation -> users(1));
+        PrefetchingRandomUserGenerator generator = generator();
+        generator.fill();
+
+        generator.getRandomUsers(1);
+        generator.getRandomUsers(1);
+
+        verify(delegate, times(1)).streamRandomUsers(anyInt());
+        verify(delegate, times(2)).getRandomUsers(1);
+    }
+
+    @Test
+    void testRefillFailingOnAssemblyIsRetried() {
+        properties.getPrefetch().setRetryDelay(Duration.ZERO);
+        when(delegate.streamRandomUsers(anyInt()))
+                .thenThrow(new IllegalArgumentException("Number of users must be positive: 0"))
+                .thenAnswer(invocation -> Flux.just(users(invocation.getArgument(0))));
+        PrefetchingRandomUserGenerator generator = generator();
+
+        generator.fill();
+        generator.fill();
+
+        verify(delegate, times(2)).streamRandomUsers(10);
+        assertEquals(10, generator.size());
+    }
+
+    @Test
+    void testStreamCancelledBeforePooledUsersAreEmittedPutsThemBack() {
+        PrefetchingRandomUserGenerator generator = generator();
+        generator.fill();
+        when(delegate.streamRandomUsers(anyInt())).thenReturn(Flux.never());
+
+        StepVerifier.create(generator.streamRandomUsers(12), 0)
+                .thenCancel()
+                .verify();
+
+        assertEquals(10, generator.size());
+        assertEquals("user_0", generator.getRandomUsers(1).get(0).getUsername());
+    }
+
+    @Test
+    void testStreamKeepsEmittedPooledUsersOutOfThePoolWhenTheLiveCallFails() {
+        PrefetchingRandomUserGenerator generator = generator();
+        generator.fill();
+        when(delegate.streamRandomUsers(anyInt())).thenReturn(Flux.error(new RandomUserServiceException("down")));
+
+        StepVerifier.create(generator.streamRandomUsers(12))
+                .expectNextCount(1)
+                .verifyError(RandomUserServiceException.class);
+
+        assertEquals(0, generator.size());
+    }
+
+    @Test
+    void testCapacityMustExceedLowWaterMark() {
+        properties.getPrefetch().setLowWaterMark(10);
+
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            assertEquals(1, validatorFactory.getValidator().validate(properties).size());
+            properties.getPrefetch().setLowWaterMark(9);
+            assertTrue(validatorFactory.getValidator().validate(properties).isEmpty());
+        }
+    }
+}
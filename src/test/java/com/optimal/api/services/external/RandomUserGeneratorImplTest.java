@@ -0,0 +1,253 @@
+package com.optimal.api.services.external;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimal.api.customExceptions.RandomUserServiceException;
+import com.optimal.api.customExceptions.UpstreamUnavailableException;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.metrics.UserMetrics;
+import com.optimal.api.settings.RandomUserProperties;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomUserGeneratorImplTest {
+
+    private MockWebServer server;
+    private RandomUserProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        properties = new RandomUserProperties();
+        properties.setBaseUrl(server.url("/api/").toString());
+        properties.setChunkSize(10);
+        properties.setConcurrency(2);
+        properties.setRetryBackoff(Duration.ofMillis(1));
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private RandomUserGeneratorImpl generator() {
+        return new RandomUserGeneratorImpl(WebClient.builder(), new ObjectMapper(), properties, new UserMetrics(meterRegistry),
+                circuitBreakerRegistry, bulkheadRegistry);
+    }
+
+    static String usersJson(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> """
+                        {"gender":"female","email":"user%1$d@example.com",
+                         "name":{"first":"First%1$d","last":"Last"},
+                         "login":{"username":"user_%1$d"},
+                         "picture":{"large":"https://example.com/%1$d.jpg"},
+                         "location":{"country":"France","state":"Paris","city":"Paris"}}
+                        """.formatted(i))
+                .collect(Collectors.joining(",", "{\"results\":[", "]}"));
+    }
+
+    static MockResponse usersResponse(int count) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(usersJson(count));
+    }
+
+    /** Answers every call with as many users as requested, failing the first {@code failures} calls. */
+    private static Dispatcher dispatcher(int failures) {
+        AtomicInteger calls = new AtomicInteger();
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (calls.incrementAndGet() <= failures) {
+                    return new MockResponse().setResponseCode(503);
+                }
+                int results = Integer.parseInt(request.getRequestUrl().queryParameter("results"));
+                return usersResponse(results);
+            }
+        };
+    }
+
+    @Test
+    void testGetRandomUsers_SplitsIntoChunks() throws InterruptedException {
+        server.setDispatcher(dispatcher(0));
+
+        List<UserDTO> users = generator().getRandomUsers(25);
+
+        assertEquals(25, users.size());
+        assertEquals(3, server.getRequestCount());
+        List<String> requestedSizes = List.of(
+                server.takeRequest().getRequestUrl().queryParameter("results"),
+                server.takeRequest().getRequestUrl().queryParameter("results"),
+                server.takeRequest().getRequestUrl().queryParameter("results"));
+        assertTrue(requestedSizes.containsAll(List.of("10", "5")));
+        assertEquals("France", users.get(0).getCountry());
+        assertEquals(3, meterRegistry.get("users.outcomes").tag("outcome", "success").counter().count());
+        assertEquals(25, meterRegistry.get("random.user.response.users").summary().totalAmount());
+    }
+
+    @Test
+    void testGetRandomUsers_RetriesFailedChunk() {
+        server.setDispatcher(dispatcher(1));
+
+        List<UserDTO> users = generator().getRandomUsers(5);
+
+        assertEquals(5, users.size());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testGetRandomUsers_FailsWhenRetriesExhausted() {
+        properties.setMaxRetries(1);
+        server.setDispatcher(dispatcher(Integer.MAX_VALUE));
+
+        assertThrows(RandomUserServiceException.class, () -> generator().getRandomUsers(5));
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, meterRegistry.get("users.outcomes").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void testGetRandomUsers_ReturnsPartialResultsWhenAllowed() {
+        properties.setMaxRetries(0);
+        properties.setConcurrency(1);
+        properties.setAllowPartialResults(true);
+        server.enqueue(usersResponse(10));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(usersResponse(5));
+
+        List<UserDTO> users = generator().getRandomUsers(25);
+
+        assertEquals(15, users.size());
+    }
+
+    @Test
+    void testGetRandomUsers_RejectsNonPositiveNumber() {
+        assertThrows(IllegalArgumentException.class, () -> generator().getRandomUsers(0));
+    }
+
+    @Test
+    void testCircuitBreakerFailsFastOnceOpen() {
+        properties.setMaxRetries(0);
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build());
+        server.setDispatcher(dispatcher(Integer.MAX_VALUE));
+        RandomUserGeneratorImpl generator = generator();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RandomUserServiceException.class, () -> generator.getRandomUsers(5));
+        }
+        UpstreamUnavailableException e =
+                assertThrows(UpstreamUnavailableException.class, () -> generator.getRandomUsers(5));
+
+        assertEquals(4, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN,
+                circuitBreakerRegistry.circuitBreaker(RandomUserGeneratorImpl.RESILIENCE_INSTANCE).getState());
+        assertTrue(e.getMessage().contains("randomUser"), e.getMessage());
+    }
+
+    @Test
+    void testCircuitBreakerOpenStillFailsAsUnavailableWithPartialResults() {
+        properties.setMaxRetries(0);
+        properties.setAllowPartialResults(true);
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build());
+        server.setDispatcher(dispatcher(Integer.MAX_VALUE));
+        RandomUserGeneratorImpl generator = generator();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RandomUserServiceException.class, () -> generator.getRandomUsers(5));
+        }
+        assertThrows(UpstreamUnavailableException.class, () -> generator.getRandomUsers(5));
+
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    void testBulkheadBoundsCallsInFlight() {
+        properties.setConcurrency(4);
+        properties.setMaxRetries(10);
+        properties.setRetryBackoff(Duration.ofMillis(20));
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(2).build());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                inFlight.decrementAndGet();
+                return usersResponse(10);
+            }
+        });
+
+        List<UserDTO> users = generator().getRandomUsers(40);
+
+        assertEquals(40, users.size());
+        assertEquals(4, server.getRequestCount());
+        assertTrue(maxInFlight.get() <= 2, "max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    void testHedgesSlowCallAndAdaptsTimeout() {
+        properties.setConcurrency(1);
+        properties.setLatencyMinSamples(3);
+        properties.getAdaptiveTimeout().setMinTimeout(Duration.ofMillis(300));
+        properties.getAdaptiveTimeout().setMultiplier(10);
+        AtomicInteger calls = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                // The fourth call hangs until it is cancelled by the hedge winning.
+                MockResponse response = usersResponse(10);
+                return calls.incrementAndGet() == 4 ? response.setHeadersDelay(3, TimeUnit.SECONDS) : response;
+            }
+        });
+        RandomUserGeneratorImpl generator = generator();
+        assertEquals(Duration.ofSeconds(5), generator.timeout());
+        generator.getRandomUsers(30);
+
+        List<UserDTO> users = generator.getRandomUsers(10);
+
+        assertEquals(10, users.size());
+        assertEquals(5, server.getRequestCount());
+        assertEquals(1, meterRegistry.get("users.outcomes").tag("outcome", "hedged").counter().count());
+        // The cancelled first call ran for at least the 50ms hedging delay and is the slowest recorded call
+        Duration timeout = generator.timeout();
+        assertTrue(timeout.compareTo(Duration.ofMillis(500)) >= 0, "timeout " + timeout);
+        assertTrue(timeout.compareTo(Duration.ofSeconds(5)) < 0, "timeout " + timeout);
+        assertEquals(timeout.toNanos() / 1e9, meterRegistry.get("random.user.timeout").timeGauge()
+                .value(TimeUnit.SECONDS), 1e-9);
+    }
+}
@@ -0,0 +1,81 @@
+package com.optimal.api.services.external;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optimal.api.customExceptions.RandomUserServiceException;
+import com.optimal.api.services.external.model.RandomUserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomUserResultsDecoderTest {
+
+    private final RandomUserResultsDecoder decoder = new RandomUserResultsDecoder(new ObjectMapper());
+
+    /** Splits the body into buffers of {@code size} bytes, cutting through tokens and multi-byte characters. */
+    private static Flux<DataBuffer> body(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            byte[] slice = new byte[Math.min(size, bytes.length - offset)];
+            System.arraycopy(bytes, offset, slice, 0, slice.length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(slice));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    @Test
+    void testDecode_EmitsEveryResultAcrossBufferBoundaries() {
+        String json = RandomUserGeneratorImplTest.usersJson(50);
+
+        List<RandomUserResponse.Result> results = decoder.decode(body(json, 7)).collectList().block();
+
+        assertEquals(50, results.size());
+        assertEquals("user_0", results.get(0).getLogin().getUsername());
+        assertEquals("user_49", results.get(49).getLogin().getUsername());
+        assertEquals("Paris", results.get(49).getLocation().getCity());
+    }
+
+    @Test
+    void testDecode_SkipsEverythingOutsideResults() {
+        String json = """
+                {"info":{"seed":"abc","results":[{"login":{"username":"not_a_user"}}]},
+                 "results":[{"gender":"female","name":{"first":"Zoë","last":"Müller"},"nat":"DE",
+                             "login":{"username":"zoe","password":"secret"},"dob":{"age":30},
+                             "results":[1,2]}],
+                 "extra":[{"login":{"username":"not_a_user_either"}}]}
+                """;
+
+        List<RandomUserResponse.Result> results = decoder.decode(body(json, 3)).collectList().block();
+
+        assertEquals(1, results.size());
+        assertEquals("zoe", results.get(0).getLogin().getUsername());
+        assertEquals("Zoë", results.get(0).getName().getFirst());
+    }
+
+    @Test
+    void testDecode_EmptyResults() {
+        assertEquals(List.of(), decoder.decode(body("{\"results\":[]}", 4)).collectList().block());
+    }
+
+    @Test
+    void testDecode_FailsWithoutResults() {
+        assertThrows(RandomUserServiceException.class,
+                () -> decoder.decode(body("{\"error\":\"Uh oh\"}", 5)).collectList().block());
+    }
+
+    @Test
+    void testDecode_FailsOnTruncatedBody() {
+        String json = RandomUserGeneratorImplTest.usersJson(2);
+
+        assertThrows(DecodingException.class,
+                () -> decoder.decode(body(json.substring(0, json.length() - 20), 16)).collectList().block());
+    }
+}
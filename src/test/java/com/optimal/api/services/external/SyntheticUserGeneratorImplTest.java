@@ -0,0 +1,96 @@
+package com.optimal.api.services.external;
+
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.settings.RandomUserProperties;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticUserGeneratorImplTest {
+
+    private RandomUserProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RandomUserProperties();
+        properties.setSource("synthetic");
+        properties.setChunkSize(1000);
+    }
+
+    private static List<String> describe(List<UserDTO> users) {
+        return users.stream()
+                .map(user -> String.join("|", user.getUsername(), user.getName(), user.getEmail(), user.getGender(),
+                        user.getPicture(), user.getCountry(), user.getState(), user.getCity()))
+                .toList();
+    }
+
+    @Test
+    void testSameSeedGivesSameUsers_WhateverTheWayTheyAreGenerated() {
+        // 25 000 users in one call take the parallel path; streamed, they come as 25 sequential chunks.
+        List<UserDTO> atOnce = new SyntheticUserGeneratorImpl(properties).getRandomUsers(25_000);
+        List<UserDTO> streamed = new SyntheticUserGeneratorImpl(properties).streamRandomUsers(25_000)
+                .flatMapIterable(chunk -> chunk)
+                .collectList()
+                .block();
+
+        assertEquals(describe(atOnce), describe(streamed));
+
+        properties.setSyntheticSeed(7);
+        assertNotEquals(describe(atOnce.subList(0, 10)),
+                describe(new SyntheticUserGeneratorImpl(properties).getRandomUsers(10)));
+    }
+
+    @Test
+    void testUsernamesAreUniqueAcrossCalls() {
+        SyntheticUserGeneratorImpl generator = new SyntheticUserGeneratorImpl(properties);
+        Set<String> usernames = new HashSet<>();
+
+        for (int call = 0; call < 5; call++) {
+            generator.getRandomUsers(20_000).forEach(user -> assertTrue(usernames.add(user.getUsername()),
+                    () -> "duplicate " + user.getUsername()));
+        }
+
+        assertEquals(100_000, usernames.size());
+    }
+
+    @Test
+    void testUsersPassValidation() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        SyntheticUserGeneratorImpl generator = new SyntheticUserGeneratorImpl(properties);
+
+        generator.getRandomUsers(1000).forEach(user ->
+                assertTrue(validator.validate(user.toBO()).isEmpty(), () -> "invalid " + user.getUsername()));
+        // The longest possible username: a 6-letter adjective, a 4-letter animal and a 10-digit number.
+        assertTrue(generator.user(9_999_999_999L).getUsername().length() <= 20);
+    }
+
+    @Test
+    void testLargerPlacesGetMoreUsers() {
+        Map<String, Long> byCountry = new SyntheticUserGeneratorImpl(properties).getRandomUsers(50_000).stream()
+                .collect(Collectors.groupingBy(UserDTO::getCountry, Collectors.counting()));
+        Map<String, Long> byCity = new SyntheticUserGeneratorImpl(properties).getRandomUsers(50_000).stream()
+                .filter(user -> "Texas".equals(user.getState()))
+                .collect(Collectors.groupingBy(UserDTO::getCity, Collectors.counting()));
+
+        assertEquals(11, byCountry.size());
+        assertTrue(byCountry.get("United States") > 5 * byCountry.get("Netherlands"));
+        assertTrue(byCity.get("Houston") > byCity.get("Fort Worth"));
+    }
+
+    @Test
+    void testRejectsNonPositiveNumber() {
+        SyntheticUserGeneratorImpl generator = new SyntheticUserGeneratorImpl(properties);
+
+        assertThrows(IllegalArgumentException.class, () -> generator.getRandomUsers(0));
+        assertThrows(IllegalArgumentException.class, () -> generator.streamRandomUsers(-1));
+    }
+}
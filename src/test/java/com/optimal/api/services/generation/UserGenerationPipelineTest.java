@@ -0,0 +1,103 @@
+package com.optimal.api.services.generation;
+
+import com.optimal.api.customExceptions.RandomUserServiceException;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.services.external.inf.RandomUserGenerator;
+import com.optimal.api.services.inf.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserGenerationPipelineTest {
+
+    @Mock
+    private RandomUserGenerator randomUserGenerator;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private UserGenerationPipeline userGenerationPipeline;
+
+    private static UserDTO user(String username) {
+        return UserDTO.builder().username(username).build();
+    }
+
+    @Test
+    void testRun_PersistsEachChunk() {
+        List<UserDTO> firstChunk = List.of(user("john_doe"), user("jane_doe"));
+        List<UserDTO> secondChunk = List.of(user("max_mustermann"));
+        when(randomUserGenerator.streamRandomUsers(3)).thenReturn(Flux.just(firstChunk, secondChunk));
+        when(userService.saveAllUsers(firstChunk)).thenReturn(List.of(user("john_doe")));
+        when(userService.saveAllUsers(secondChunk)).thenReturn(secondChunk);
+
+        GenerationProgress progress = userGenerationPipeline.run(new GenerationProgress(3)).block();
+
+        assertNotNull(progress);
+        assertTrue(progress.isFinished());
+        assertEquals(3, progress.getFetched());
+        assertEquals(2, progress.getPersisted());
+        assertEquals(1, progress.getSkipped());
+        assertEquals(0, progress.getFailed());
+        verify(userService, times(2)).saveAllUsers(anyList());
+    }
+
+    @Test
+    void testRun_StopsOnUpstreamFailure() {
+        List<UserDTO> firstChunk = List.of(user("john_doe"));
+        when(randomUserGenerator.streamRandomUsers(5)).thenReturn(Flux.concat(
+                Flux.just(firstChunk), Flux.error(new RandomUserServiceException("Failed to fetch random users"))));
+        when(userService.saveAllUsers(firstChunk)).thenReturn(firstChunk);
+
+        GenerationProgress progress = new GenerationProgress(5);
+
+        assertThrows(RandomUserServiceException.class, () -> userGenerationPipeline.run(progress).block());
+        assertTrue(progress.isFinished());
+        assertEquals(1, progress.getPersisted());
+        assertEquals(4, progress.getFailed());
+    }
+
+    /** Callers read the progress as soon as they see the outcome, so it must already be finished by then. */
+    @Test
+    void testRun_ProgressIsFinishedWhenOutcomeIsSeen() {
+        when(randomUserGenerator.streamRandomUsers(1)).thenReturn(Flux.just(List.of(user("john_doe"))));
+        when(randomUserGenerator.streamRandomUsers(2))
+                .thenReturn(Flux.error(new RandomUserServiceException("Failed to fetch random users")));
+        when(userService.saveAllUsers(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        GenerationProgress succeeded = new GenerationProgress(1);
+        GenerationProgress failed = new GenerationProgress(2);
+
+        assertEquals(Boolean.TRUE, userGenerationPipeline.run(succeeded)
+                .map(GenerationProgress::isFinished)
+                .block());
+        assertEquals(Boolean.TRUE, userGenerationPipeline.run(failed)
+                .map(GenerationProgress::isFinished)
+                .onErrorResume(e -> Mono.just(failed.isFinished()))
+                .block());
+    }
+
+    @Test
+    void testRun_CancelledStopsFetching() {
+        when(randomUserGenerator.streamRandomUsers(5)).thenReturn(Flux.just(List.of(user("john_doe"))));
+        GenerationProgress progress = new GenerationProgress(5);
+        progress.cancel();
+
+        userGenerationPipeline.run(progress).block();
+
+        assertTrue(progress.isFinished());
+        assertEquals(0, progress.getFetched());
+        assertEquals(0, progress.getFailed());
+        assertEquals(5, progress.getCancelled());
+        verifyNoInteractions(userService);
+    }
+}
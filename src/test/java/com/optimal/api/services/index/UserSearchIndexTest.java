@@ -0,0 +1,134 @@
+package com.optimal.api.services.index;
+
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.bo.UserSuggestionBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.respositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserSearchIndex userSearchIndex;
+
+    private static UserDTO user(String username, String name, String email) {
+        return UserDTO.builder()
+                .username(username)
+                .name(name)
+                .email(email)
+                .build();
+    }
+
+    private static List<String> usernames(List<UserSuggestionBO> suggestions) {
+        return suggestions.stream().map(UserSuggestionBO::getUsername).toList();
+    }
+
+    @Test
+    void testSuggest_PrefixMatchesOnEveryField() {
+        userSearchIndex.addOrReplace(List.of(
+                user("john_doe", "John Doe", "john.doe@example.com"),
+                user("jane_smith", "Jane Smith", "jane@example.com"),
+                user("max_mustermann", "Max Mustermann", "doe.max@example.com")));
+
+        assertEquals(List.of("john_doe", "max_mustermann"), usernames(userSearchIndex.suggest("DOE", 10)));
+        assertEquals(List.of("jane_smith"), usernames(userSearchIndex.suggest("smi", 10)));
+        assertEquals(List.of("jane_smith", "john_doe"), usernames(userSearchIndex.suggest(" j ", 10)));
+        assertEquals(List.of("jane_smith"), usernames(userSearchIndex.suggest("j", 1)));
+        assertTrue(userSearchIndex.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    void testSuggest_FallsBackToSubstringMatches() {
+        userSearchIndex.addOrReplace(List.of(
+                user("john_doe", "John Doe", "john@example.com"),
+                user("max_mustermann", "Max Mustermann", "max@example.com"),
+                user("erika_muster", "Erika Musterfrau", "erika@example.com")));
+
+        // "uster" starts no term: only the trigram index finds it.
+        assertEquals(List.of("max_mustermann", "erika_muster"), usernames(userSearchIndex.suggest("uster", 10)));
+        // Shares the trigrams "ohn" and "hn_" but not the whole text.
+        assertTrue(userSearchIndex.suggest("ohn_x", 10).isEmpty());
+        // Substring search needs three characters.
+        assertTrue(userSearchIndex.suggest("st", 10).isEmpty());
+    }
+
+    @Test
+    void testEvents_ReplaceAndRemoveUsers() {
+        userSearchIndex.onUsersSaved(new UsersSavedEvent(List.of(user("john_doe", "John Doe", "john@example.com"))));
+        userSearchIndex.onUsersSaved(new UsersSavedEvent(List.of(user("john_doe", "Johnny Walker", "johnny@example.com"))));
+
+        assertEquals(1, userSearchIndex.size());
+        assertTrue(userSearchIndex.suggest("john@", 10).isEmpty());
+        assertEquals("Johnny Walker", userSearchIndex.suggest("walk", 10).get(0).getName());
+
+        userSearchIndex.onUsersDeleted(new UsersDeletedEvent(List.of("john_doe")));
+
+        assertEquals(0, userSearchIndex.size());
+        assertTrue(userSearchIndex.suggest("john", 10).isEmpty());
+    }
+
+    @Test
+    void testCompaction_KeepsLiveUsers() {
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            users.add(user("user_" + i, "User " + i, "user" + i + "@example.com"));
+        }
+        userSearchIndex.addOrReplace(users);
+        List<String> deleted = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            deleted.add("user_" + i);
+        }
+
+        userSearchIndex.removeAll(deleted);
+
+        assertEquals(1000, userSearchIndex.size());
+        assertEquals(List.of("user_2999"), usernames(userSearchIndex.suggest("user_2999", 10)));
+        assertTrue(userSearchIndex.suggest("user_1999", 10).isEmpty());
+    }
+
+    @Test
+    void testRebuild_PagesThroughTheRepository() {
+        List<Map<String, Object>> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            firstPage.add(row(id, "user_" + id));
+        }
+        when(userRepository.search(any(), eq(List.of("username", "name", "email")), eq(0L), eq(10_000)))
+                .thenReturn(firstPage);
+        when(userRepository.search(any(), anyList(), eq(10_000L), eq(10_000)))
+                .thenReturn(List.of(row(10_001L, "last_user")));
+        userSearchIndex.addOrReplace(List.of(user("stale_user", "Stale", "stale@example.com")));
+
+        userSearchIndex.rebuild();
+
+        assertEquals(10_001, userSearchIndex.size());
+        assertEquals(List.of("last_user"), usernames(userSearchIndex.suggest("last", 10)));
+        assertTrue(userSearchIndex.suggest("stale", 10).isEmpty());
+        verify(userRepository, times(2)).search(any(), anyList(), anyLong(), anyInt());
+    }
+
+    private static Map<String, Object> row(long id, String username) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("username", username);
+        row.put("name", "User " + id);
+        row.put("email", username + "@example.com");
+        return row;
+    }
+}
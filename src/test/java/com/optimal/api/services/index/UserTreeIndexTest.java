@@ -0,0 +1,115 @@
+package com.optimal.api.services.index;
+
+import com.optimal.api.events.UsersDeletedEvent;
+import com.optimal.api.events.UsersSavedEvent;
+import com.optimal.api.models.bo.UserBO;
+import com.optimal.api.models.dtos.UserDTO;
+import com.optimal.api.respositories.UserRepository;
+import com.optimal.api.services.metrics.UserMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserTreeIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private UserMetrics userMetrics = new UserMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private UserTreeIndex userTreeIndex;
+
+    private static UserDTO user(String username, String country, String state, String city) {
+        return UserDTO.builder()
+                .username(username)
+                .country(country)
+                .state(state)
+                .city(city)
+                .build();
+    }
+
+    @Test
+    void testRebuild() {
+        List<UserDTO> users = List.of(
+                user("john_doe", "France", "Paris", "Paris"),
+                user("jane_doe", "France", "Paris", "Paris"),
+                user("max_mustermann", "Germany", "Bavaria", "Munich"));
+        when(userRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(users, PageRequest.of(0, 10), users.size()));
+
+        userTreeIndex.rebuild();
+
+        Map<String, Map<String, Map<String, List<UserBO>>>> tree = userTreeIndex.getTree();
+        assertEquals(3, userTreeIndex.size());
+        assertEquals(2, tree.size());
+        assertEquals(2, tree.get("France").get("Paris").get("Paris").size());
+        assertEquals("max_mustermann", tree.get("Germany").get("Bavaria").get("Munich").get(0).getUsername());
+    }
+
+    @Test
+    void testUsersSaved_AddsAndMovesUsers() {
+        userTreeIndex.onUsersSaved(new UsersSavedEvent(List.of(
+                user("john_doe", "France", "Paris", "Paris"),
+                user("jane_doe", "France", "Paris", "Paris"))));
+
+        userTreeIndex.onUsersSaved(new UsersSavedEvent(List.of(
+                user("john_doe", "Germany", "Berlin", "Berlin"))));
+
+        Map<String, Map<String, Map<String, List<UserBO>>>> tree = userTreeIndex.getTree();
+        assertEquals(2, userTreeIndex.size());
+        assertEquals(1, tree.get("France").get("Paris").get("Paris").size());
+        assertEquals("jane_doe", tree.get("France").get("Paris").get("Paris").get(0).getUsername());
+        assertEquals("john_doe", tree.get("Germany").get("Berlin").get("Berlin").get(0).getUsername());
+    }
+
+    @Test
+    void testUsersDeleted_PrunesEmptyBranches() {
+        userTreeIndex.onUsersSaved(new UsersSavedEvent(List.of(
+                user("john_doe", "France", "Paris", "Paris"),
+                user("jane_doe", "Germany", "Berlin", "Berlin"))));
+
+        userTreeIndex.onUsersDeleted(new UsersDeletedEvent(List.of("john_doe", "unknown_user")));
+
+        Map<String, Map<String, Map<String, List<UserBO>>>> tree = userTreeIndex.getTree();
+        assertEquals(1, userTreeIndex.size());
+        assertFalse(tree.containsKey("France"));
+        assertTrue(tree.containsKey("Germany"));
+    }
+
+    @Test
+    void testUsersSavedAndDeleted_ManyUsersOfOneCity() {
+        userTreeIndex.onUsersSaved(new UsersSavedEvent(List.of(
+                user("a", "France", "Paris", "Paris"),
+                user("b", "France", "Paris", "Paris"),
+                user("c", "France", "Paris", "Paris"))));
+
+        userTreeIndex.onUsersSaved(new UsersSavedEvent(List.of(
+                user("a", "France", "Paris", "Paris"),
+                user("c", "France", "Paris", "Paris"))));
+
+        assertEquals(List.of("b", "a", "c"), userTreeIndex.getTree().get("France").get("Paris").get("Paris")
+                .stream().map(UserBO::getUsername).toList());
+
+        userTreeIndex.onUsersDeleted(new UsersDeletedEvent(List.of("a", "b")));
+
+        assertEquals(1, userTreeIndex.size());
+        assertEquals(List.of("c"), userTreeIndex.getTree().get("France").get("Paris").get("Paris")
+                .stream().map(UserBO::getUsername).toList());
+    }
+}